@@ -0,0 +1,179 @@
+package interpolation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+// Headless command line interface.
+// Reads data points from a file or standard input (in the same format as
+// the import in the GUI), interpolates them and writes the polynomial,
+// its coefficients or its values to standard output.
+public class Cli {
+    private static final String usage =
+            "usage: interpolation [options] [file]\n"
+            + "Interpolates points read from file (or standard input), one \"x y\" pair per line.\n"
+            + "\n"
+            + "options:\n"
+            + "  -c, --coeffs    print coefficients a0, a1, ..., an, one per line\n"
+            + "  -e, --eval X    print X and P(X) separated by a tab (can be repeated)\n"
+            + "  --serve PORT    run the HTTP service on localhost instead (see Server)\n"
+            + "  -h, --help      print this message\n";
+
+    // Exit statuses.
+    private static final int ok = 0;
+    private static final int inputError = 1;
+    private static final int usageError = 2;
+
+    private static final int maxInternedValues = 1 << 16;
+    // Up to this many values are computed directly from the points, which
+    // costs less than computing the interpolation polynomial.
+    private static final int maxDirectEvals = 2;
+
+    public static void main(String[] args) {
+        PrintWriter out = new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+        PrintWriter err = new PrintWriter(new OutputStreamWriter(System.err, StandardCharsets.UTF_8));
+        int status = run(args, new InputStreamReader(System.in, StandardCharsets.UTF_8), out, err);
+        out.flush();
+        err.flush();
+        System.exit(status);
+    }
+
+    // Runs the command and returns its exit status.
+    static int run(String[] args, Reader stdin, PrintWriter out, PrintWriter err) {
+        boolean coeffs = false;
+        List<Rational> evalPoints = new ArrayList<>();
+        String file = null;
+        Integer port = null;
+        for (int i = 0; i < args.length; ++i) {
+            String arg = args[i];
+            if (arg.equals("-h") || arg.equals("--help")) {
+                out.print(usage);
+                return ok;
+            }
+            else if (arg.equals("-c") || arg.equals("--coeffs")) {
+                coeffs = true;
+            }
+            else if (arg.equals("-e") || arg.equals("--eval")) {
+                if (i + 1 >= args.length) {
+                    return fail(err, usageError, "missing argument for " + arg);
+                }
+                try {
+                    evalPoints.add(Rational.parse(args[++i]));
+                }
+                catch (NumberFormatException ex) {
+                    return fail(err, usageError, ex.getMessage());
+                }
+            }
+            else if (arg.equals("--serve")) {
+                if (i + 1 >= args.length) {
+                    return fail(err, usageError, "missing argument for " + arg);
+                }
+                try {
+                    port = Integer.parseInt(args[++i]);
+                }
+                catch (NumberFormatException ex) {
+                    return fail(err, usageError, "invalid port " + args[i]);
+                }
+            }
+            else if (arg.startsWith("-") && !arg.equals("-")) {
+                return fail(err, usageError, "unknown option " + arg);
+            }
+            else if (file == null) {
+                file = arg;
+            }
+            else {
+                return fail(err, usageError, "too many arguments");
+            }
+        }
+        if (coeffs && !evalPoints.isEmpty()) {
+            return fail(err, usageError, "--coeffs and --eval can't be used together");
+        }
+        if (port != null) {
+            return serve(port, err);
+        }
+
+        PointImport input;
+        try (Reader reader = file == null || file.equals("-")
+                ? stdin
+                : Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+            // Large datasets often repeat values, which then share one instance.
+            input = PointImport.parse(reader, Collections.emptySet(), new RationalInterner(maxInternedValues));
+        }
+        catch (IOException ex) {
+            err.println("interpolation: " + ex.getMessage());
+            return inputError;
+        }
+        if (!input.getErrors().isEmpty()) {
+            for (String error : input.getErrors()) {
+                err.println("interpolation: " + error);
+            }
+            return inputError;
+        }
+
+        if (!coeffs && !evalPoints.isEmpty() && evalPoints.size() <= maxDirectEvals) {
+            for (Rational x : evalPoints) {
+                out.println(x + "\t" + Neville.eval(input.getPoints(), x));
+            }
+            return ok;
+        }
+        Interpolation interpolation = new Interpolation(input.getPoints());
+        if (coeffs) {
+            Poly poly = interpolation.getResult();
+            for (int i = 0; i <= poly.degree(); ++i) {
+                out.println(poly.get(i));
+            }
+        }
+        else if (!evalPoints.isEmpty()) {
+            // Evaluation doesn't need the monomial form.
+            ShiftedPoly poly = interpolation.getShifted();
+            for (Rational x : evalPoints) {
+                out.println(x + "\t" + poly.eval(x));
+            }
+        }
+        else {
+            out.println(interpolation.getResult());
+        }
+        return ok;
+    }
+
+    // Runs the server until the process is killed.
+    private static int serve(int port, PrintWriter err) {
+        Server server;
+        try {
+            server = new Server(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        }
+        catch (IOException ex) {
+            err.println("interpolation: " + ex.getMessage());
+            return inputError;
+        }
+        server.start();
+        err.println("interpolation: listening on " + server.getAddress());
+        err.flush();
+        try {
+            new CountDownLatch(1).await();
+        }
+        catch (InterruptedException ex) {
+            server.stop();
+        }
+        return ok;
+    }
+
+    private static int fail(PrintWriter err, int status, String msg) {
+        err.println("interpolation: " + msg);
+        err.print(usage);
+        return status;
+    }
+}
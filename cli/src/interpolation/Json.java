@@ -0,0 +1,214 @@
+package interpolation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Minimal JSON reader, just enough to accept point sets.
+// Objects are read as Maps, arrays as Lists, true and false as Booleans and
+// null as null. Both strings and numbers are read as Strings, numbers keep
+// their textual form so that they can be parsed exactly with Rational.parse.
+class Json {
+    private final String input;
+    private int position;
+
+    private Json(String input) {
+        this.input = input;
+        position = 0;
+    }
+
+    private boolean eof() {
+        return position >= input.length();
+    }
+
+    private char get() {
+        return eof() ? 0 : input.charAt(position);
+    }
+
+    private void next() {
+        if (!eof()) {
+            ++position;
+        }
+    }
+
+    private void error(String msg) {
+        throw new IllegalArgumentException("Invalid JSON: " + msg + " at " + position);
+    }
+
+    private boolean attempt(char c) {
+        if (get() != c) {
+            return false;
+        }
+        next();
+        return true;
+    }
+
+    private void require(char c) {
+        if (!attempt(c)) {
+            error("expected " + c);
+        }
+    }
+
+    private void requireWord(String word) {
+        for (int i = 0; i < word.length(); ++i) {
+            require(word.charAt(i));
+        }
+    }
+
+    private void skipSpace() {
+        while (Character.isWhitespace(get())) {
+            next();
+        }
+    }
+
+    private Object parseValue() {
+        skipSpace();
+        char c = get();
+        Object out;
+        if (c == '{') {
+            out = parseObject();
+        }
+        else if (c == '[') {
+            out = parseArray();
+        }
+        else if (c == '"') {
+            out = parseString();
+        }
+        else if (c == '-' || Character.isDigit(c)) {
+            out = parseNumber();
+        }
+        else if (c == 't') {
+            requireWord("true");
+            out = Boolean.TRUE;
+        }
+        else if (c == 'f') {
+            requireWord("false");
+            out = Boolean.FALSE;
+        }
+        else if (c == 'n') {
+            requireWord("null");
+            out = null;
+        }
+        else {
+            error("expected value");
+            return null;
+        }
+        skipSpace();
+        return out;
+    }
+
+    private Map<String, Object> parseObject() {
+        require('{');
+        Map<String, Object> out = new LinkedHashMap<>();
+        skipSpace();
+        if (attempt('}')) {
+            return out;
+        }
+        do {
+            skipSpace();
+            String key = parseString();
+            skipSpace();
+            require(':');
+            out.put(key, parseValue());
+        } while (attempt(','));
+        require('}');
+        return out;
+    }
+
+    private List<Object> parseArray() {
+        require('[');
+        List<Object> out = new ArrayList<>();
+        skipSpace();
+        if (attempt(']')) {
+            return out;
+        }
+        do {
+            out.add(parseValue());
+        } while (attempt(','));
+        require(']');
+        return out;
+    }
+
+    private String parseString() {
+        require('"');
+        StringBuilder buf = new StringBuilder();
+        while (!attempt('"')) {
+            if (eof()) {
+                error("unterminated string");
+            }
+            char c = get();
+            next();
+            if (c != '\\') {
+                buf.append(c);
+                continue;
+            }
+            c = get();
+            next();
+            switch (c) {
+                case '"': case '\\': case '/': buf.append(c); break;
+                case 'b': buf.append('\b'); break;
+                case 'f': buf.append('\f'); break;
+                case 'n': buf.append('\n'); break;
+                case 'r': buf.append('\r'); break;
+                case 't': buf.append('\t'); break;
+                case 'u':
+                    if (position + 4 > input.length()) {
+                        error("invalid escape");
+                    }
+                    try {
+                        buf.append((char) Integer.parseInt(input.substring(position, position + 4), 16));
+                    }
+                    catch (NumberFormatException ex) {
+                        error("invalid escape");
+                    }
+                    position += 4;
+                    break;
+                default:
+                    error("invalid escape");
+            }
+        }
+        return buf.toString();
+    }
+
+    private String parseNumber() {
+        int start = position;
+        attempt('-');
+        while (Character.isDigit(get()) || get() == '.' || get() == 'e' || get() == 'E'
+                || get() == '+' || get() == '-') {
+            next();
+        }
+        return input.substring(start, position);
+    }
+
+    // Parses a JSON document.
+    // On invalid input an IllegalArgumentException is thrown.
+    static Object parse(String input) {
+        Json p = new Json(input);
+        Object out = p.parseValue();
+        if (!p.eof()) {
+            p.error("expected eof");
+        }
+        return out;
+    }
+
+    // Returns a JSON string literal.
+    static String quote(String str) {
+        StringBuilder buf = new StringBuilder();
+        buf.append('"');
+        for (int i = 0; i < str.length(); ++i) {
+            char c = str.charAt(i);
+            if (c == '"' || c == '\\') {
+                buf.append('\\').append(c);
+            }
+            else if (c < 0x20) {
+                buf.append(String.format("\\u%04x", (int) c));
+            }
+            else {
+                buf.append(c);
+            }
+        }
+        buf.append('"');
+        return buf.toString();
+    }
+}
@@ -0,0 +1,524 @@
+package interpolation;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Local HTTP interpolation service.
+// Points are sent in the request body, either as text in the same format as
+// the import (one "x y" pair per line) or as JSON when the content type says so:
+// an array of [x, y] pairs or {"x": x, "y": y} objects, optionally wrapped
+// in {"points": ...}. Coordinates may be JSON numbers or strings like "1/3".
+// Endpoints:
+//   POST /poly                   the polynomial
+//   POST /coeffs                 coefficients a0, a1, ..., an
+//   POST /eval?x=X&x=...         values of the polynomial in the given points
+//   POST /plot?from=A&to=B&n=N   N samples (in double precision) over [A, B]
+//   GET  /stats                  request, latency, cache and interning statistics
+// Responses are JSON for JSON requests and CSV otherwise, and are streamed.
+// Request bodies larger than maxRequestBytes are rejected with status 413.
+public class Server {
+    private static final int maxCachedResults = 256;
+    private static final int maxInternedValues = 1 << 16;
+    private static final int defaultPlotSamples = 1000;
+    private static final int maxPlotSamples = 10_000_000;
+    // Plot samples are evaluated and written in chunks of this size.
+    private static final int plotChunk = 4096;
+    private static final int bufferSize = 1 << 16;
+    private static final long defaultMaxRequestBytes = 64 << 20;
+    // Requests are handled by a bounded pool of platform threads. Virtual
+    // threads would need Java 21, and this tree targets Java 17.
+    private static final int maxRequestThreads = 64;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long maxRequestBytes;
+    // Bounds the number of requests doing CPU heavy work at the same time.
+    private final Semaphore cpu = new Semaphore(Runtime.getRuntime().availableProcessors());
+    private final Map<List<Point>, ShiftedPoly> cache;
+    // Points of cached results often repeat across requests.
+    private final RationalInterner interner = new RationalInterner(maxInternedValues);
+
+    private final long startTime = System.nanoTime();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    // Thrown while reading a request body longer than maxRequestBytes.
+    private static class RequestTooLarge extends IOException {
+        private RequestTooLarge(long limit) {
+            super("Request body larger than " + limit + " bytes");
+        }
+    }
+
+    // Reads at most limit bytes of the stream, failing beyond them.
+    private static class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long remaining;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+            remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                consume(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = super.read(buf, off, len);
+            if (n > 0) {
+                consume(n);
+            }
+            return n;
+        }
+
+        private void consume(long n) throws RequestTooLarge {
+            remaining -= n;
+            if (remaining < 0) {
+                throw new RequestTooLarge(limit);
+            }
+        }
+    }
+
+    private static class HttpError extends Exception {
+        private final int status;
+
+        private HttpError(int status, String msg) {
+            super(msg);
+            this.status = status;
+        }
+    }
+
+    // Creates a server listening on the given address, port 0 picks a free one.
+    public Server(InetSocketAddress address) throws IOException {
+        this(address, defaultMaxRequestBytes);
+    }
+
+    Server(InetSocketAddress address, long maxRequestBytes) throws IOException {
+        this.maxRequestBytes = maxRequestBytes;
+        cache = Collections.synchronizedMap(new LinkedHashMap<List<Point>, ShiftedPoly>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Point>, ShiftedPoly> eldest) {
+                return size() > maxCachedResults;
+            }
+        });
+        executor = newExecutor();
+        server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    private static ExecutorService newExecutor() {
+        return Executors.newFixedThreadPool(maxRequestThreads, runnable -> {
+            Thread thread = new Thread(runnable, "http");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    private void handle(HttpExchange ex) {
+        long start = System.nanoTime();
+        requests.increment();
+        inFlight.increment();
+        try {
+            dispatch(ex);
+        }
+        catch (HttpError e) {
+            errors.increment();
+            sendError(ex, e.status, e.getMessage());
+        }
+        catch (RequestTooLarge e) {
+            errors.increment();
+            sendError(ex, 413, e.getMessage());
+        }
+        catch (InterruptedException e) {
+            errors.increment();
+            sendError(ex, 503, "Interrupted");
+            Thread.currentThread().interrupt();
+        }
+        catch (IOException | RuntimeException e) {
+            errors.increment();
+            sendError(ex, 500, e.toString());
+        }
+        finally {
+            ex.close();
+            inFlight.decrement();
+            long latency = System.nanoTime() - start;
+            totalLatency.add(latency);
+            maxLatency.accumulateAndGet(latency, Math::max);
+        }
+    }
+
+    private void dispatch(HttpExchange ex) throws HttpError, IOException, InterruptedException {
+        String path = ex.getRequestURI().getPath();
+        String method = ex.getRequestMethod();
+        if (path.equals("/stats")) {
+            requireMethod(method, "GET");
+            sendStats(ex);
+            return;
+        }
+        if (!path.equals("/poly") && !path.equals("/coeffs") && !path.equals("/eval") && !path.equals("/plot")) {
+            throw new HttpError(404, "Unknown endpoint " + path);
+        }
+        requireMethod(method, "POST");
+        Map<String, List<String>> query = parseQuery(ex.getRequestURI().getRawQuery());
+        String contentType = ex.getRequestHeaders().getFirst("Content-Type");
+        boolean json = contentType != null && contentType.contains("json");
+        // Declared sizes are checked before reading, others while reading.
+        if (contentLength(ex) > maxRequestBytes) {
+            throw new RequestTooLarge(maxRequestBytes);
+        }
+        InputStream body = new LimitedInputStream(ex.getRequestBody(), maxRequestBytes);
+        List<Point> points = json ? readJson(body) : readText(body);
+        ShiftedPoly poly = interpolate(points);
+        switch (path) {
+            case "/poly":
+                sendPoly(ex, json, expand(poly));
+                break;
+            case "/coeffs":
+                sendCoeffs(ex, json, expand(poly));
+                break;
+            case "/eval":
+                sendEval(ex, json, poly, query);
+                break;
+            default:
+                sendPlot(ex, json, poly, query);
+                break;
+        }
+    }
+
+    // Returns the declared length of the request body, -1 if unknown.
+    private static long contentLength(HttpExchange ex) {
+        String value = ex.getRequestHeaders().getFirst("Content-Length");
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        }
+        catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void requireMethod(String method, String expected) throws HttpError {
+        if (!method.equals(expected)) {
+            throw new HttpError(405, "Expected " + expected + " request");
+        }
+    }
+
+    private static Map<String, List<String>> parseQuery(String query) {
+        Map<String, List<String>> out = new LinkedHashMap<>();
+        if (query == null) {
+            return out;
+        }
+        for (String param : query.split("&")) {
+            int i = param.indexOf('=');
+            String key = URLDecoder.decode(i < 0 ? param : param.substring(0, i), StandardCharsets.UTF_8);
+            String value = i < 0 ? "" : URLDecoder.decode(param.substring(i + 1), StandardCharsets.UTF_8);
+            out.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        }
+        return out;
+    }
+
+    private List<Point> readText(InputStream body) throws HttpError, IOException {
+        PointImport input = PointImport.parse(
+                new InputStreamReader(body, StandardCharsets.UTF_8), Collections.emptySet(), interner);
+        if (!input.getErrors().isEmpty()) {
+            throw new HttpError(400, String.join("\n", input.getErrors()));
+        }
+        return input.getPoints();
+    }
+
+    private List<Point> readJson(InputStream body) throws HttpError, IOException {
+        Object json;
+        try {
+            json = Json.parse(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        catch (IllegalArgumentException ex) {
+            throw new HttpError(400, ex.getMessage());
+        }
+        if (json instanceof Map) {
+            json = ((Map<?, ?>) json).get("points");
+        }
+        if (!(json instanceof List)) {
+            throw new HttpError(400, "Expected an array of points");
+        }
+        List<Point> points = new ArrayList<>();
+        Set<Rational> xs = new HashSet<>();
+        for (Object item : (List<?>) json) {
+            Object x, y;
+            if (item instanceof List && ((List<?>) item).size() == 2) {
+                x = ((List<?>) item).get(0);
+                y = ((List<?>) item).get(1);
+            }
+            else if (item instanceof Map) {
+                x = ((Map<?, ?>) item).get("x");
+                y = ((Map<?, ?>) item).get("y");
+            }
+            else {
+                throw new HttpError(400, "Expected a point, got " + item);
+            }
+            Point p = new Point(interner.intern(parseRational(x)), interner.intern(parseRational(y)));
+            if (!xs.add(p.getX())) {
+                throw new HttpError(400, "Duplicate node " + p.getX());
+            }
+            points.add(p);
+        }
+        return points;
+    }
+
+    private static Rational parseRational(Object value) throws HttpError {
+        if (!(value instanceof String)) {
+            throw new HttpError(400, "Expected a number, got " + value);
+        }
+        try {
+            return Rational.parse((String) value);
+        }
+        catch (NumberFormatException ex) {
+            throw new HttpError(400, ex.getMessage());
+        }
+    }
+
+    // Results are kept in the shifted form, evaluation doesn't need more.
+    private ShiftedPoly interpolate(List<Point> points) throws InterruptedException {
+        ShiftedPoly poly = cache.get(points);
+        if (poly != null) {
+            cacheHits.increment();
+            return poly;
+        }
+        cacheMisses.increment();
+        cpu.acquire();
+        try {
+            poly = new Interpolation(points).getShifted();
+        }
+        finally {
+            cpu.release();
+        }
+        cache.put(points, poly);
+        return poly;
+    }
+
+    // The monomial form is computed once and kept by the cached ShiftedPoly.
+    private Poly expand(ShiftedPoly poly) throws InterruptedException {
+        cpu.acquire();
+        try {
+            return poly.expand();
+        }
+        finally {
+            cpu.release();
+        }
+    }
+
+    // Starts a streamed (chunked) response.
+    private static Writer startResponse(HttpExchange ex, String contentType) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        ex.sendResponseHeaders(200, 0);
+        return new BufferedWriter(new OutputStreamWriter(ex.getResponseBody(), StandardCharsets.UTF_8), bufferSize);
+    }
+
+    private static String contentType(boolean json) {
+        return json ? "application/json" : "text/csv";
+    }
+
+    // Terms are written one at a time. The text only contains digits, x and
+    // the characters " +-/^()", so it needs no escaping as a JSON string.
+    private static void sendPoly(HttpExchange ex, boolean json, Poly poly) throws IOException {
+        try (Writer out = startResponse(ex, json ? "application/json" : "text/plain")) {
+            if (json) {
+                out.write("\"");
+            }
+            poly.write(out);
+            out.write(json ? "\"\n" : "\n");
+        }
+    }
+
+    private static void sendCoeffs(HttpExchange ex, boolean json, Poly poly) throws IOException {
+        try (Writer out = startResponse(ex, contentType(json))) {
+            if (json) {
+                out.write("[");
+            }
+            for (int i = 0; i <= poly.degree(); ++i) {
+                if (json) {
+                    out.write((i > 0 ? "," : "") + Json.quote(poly.get(i).toString()));
+                }
+                else {
+                    out.write(poly.get(i) + "\n");
+                }
+            }
+            if (json) {
+                out.write("]\n");
+            }
+        }
+    }
+
+    private void sendEval(HttpExchange ex, boolean json, ShiftedPoly poly, Map<String, List<String>> query)
+            throws HttpError, IOException, InterruptedException {
+        List<Rational> xs = new ArrayList<>();
+        for (String x : query.getOrDefault("x", Collections.emptyList())) {
+            xs.add(parseRational(x));
+        }
+        List<Rational> ys = new ArrayList<>();
+        cpu.acquire();
+        try {
+            for (Rational x : xs) {
+                ys.add(poly.eval(x));
+            }
+        }
+        finally {
+            cpu.release();
+        }
+        try (Writer out = startResponse(ex, contentType(json))) {
+            if (json) {
+                out.write("[");
+            }
+            for (int i = 0; i < xs.size(); ++i) {
+                if (json) {
+                    out.write((i > 0 ? "," : "") + "[" + Json.quote(xs.get(i).toString())
+                            + "," + Json.quote(ys.get(i).toString()) + "]");
+                }
+                else {
+                    out.write(xs.get(i) + "," + ys.get(i) + "\n");
+                }
+            }
+            if (json) {
+                out.write("]\n");
+            }
+        }
+    }
+
+    private static String param(Map<String, List<String>> query, String key, String def) {
+        List<String> values = query.get(key);
+        return values == null || values.isEmpty() ? def : values.get(0);
+    }
+
+    private void sendPlot(HttpExchange ex, boolean json, ShiftedPoly poly, Map<String, List<String>> query)
+            throws HttpError, IOException, InterruptedException {
+        double from = parseRational(param(query, "from", "-10")).toDouble();
+        double to = parseRational(param(query, "to", "10")).toDouble();
+        int n;
+        try {
+            n = Integer.parseInt(param(query, "n", Integer.toString(defaultPlotSamples)));
+        }
+        catch (NumberFormatException e) {
+            throw new HttpError(400, "Invalid sample count");
+        }
+        if (n < 2 || n > maxPlotSamples) {
+            throw new HttpError(400, "Sample count must be between 2 and " + maxPlotSamples);
+        }
+        DoubleEvaluator f = new DoubleEvaluator(poly);
+        try (Writer out = startResponse(ex, contentType(json))) {
+            if (json) {
+                out.write("[");
+            }
+            double[] xs = new double[plotChunk];
+            double[] ys = new double[plotChunk];
+            for (int start = 0; start < n; start += plotChunk) {
+                int len = Math.min(plotChunk, n - start);
+                // Grid points are computed from integer indices.
+                for (int i = 0; i < len; ++i) {
+                    xs[i] = from + (to - from) * (start + i) / (n - 1);
+                }
+                cpu.acquire();
+                try {
+                    f.eval(xs, ys);
+                }
+                finally {
+                    cpu.release();
+                }
+                for (int i = 0; i < len; ++i) {
+                    if (json) {
+                        out.write((start + i > 0 ? "," : "") + "[" + jsonDouble(xs[i]) + "," + jsonDouble(ys[i]) + "]");
+                    }
+                    else {
+                        out.write(xs[i] + "," + ys[i] + "\n");
+                    }
+                }
+            }
+            if (json) {
+                out.write("]\n");
+            }
+        }
+    }
+
+    private static String jsonDouble(double x) {
+        return Double.isFinite(x) ? Double.toString(x) : "null";
+    }
+
+    private void sendStats(HttpExchange ex) throws IOException {
+        long count = requests.sum();
+        double uptime = (System.nanoTime() - startTime) / 1e9;
+        try (Writer out = startResponse(ex, "application/json")) {
+            out.write("{\"requests\":" + count
+                    + ",\"errors\":" + errors.sum()
+                    + ",\"inFlight\":" + inFlight.sum()
+                    + ",\"cacheHits\":" + cacheHits.sum()
+                    + ",\"cacheMisses\":" + cacheMisses.sum()
+                    + ",\"internHitRate\":" + interner.getHitRate()
+                    + ",\"uptimeSeconds\":" + uptime
+                    + ",\"requestsPerSecond\":" + (uptime > 0 ? count / uptime : 0.0)
+                    + ",\"meanLatencyMillis\":" + (count > 0 ? totalLatency.sum() / 1e6 / count : 0.0)
+                    + ",\"maxLatencyMillis\":" + maxLatency.get() / 1e6
+                    + "}\n");
+        }
+    }
+
+    private static void sendError(HttpExchange ex, int status, String msg) {
+        try {
+            byte[] body = (msg + "\n").getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            ex.sendResponseHeaders(status, body.length);
+            ex.getResponseBody().write(body);
+        }
+        catch (IOException e) {
+            // The response was already started or the client is gone.
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package interpolation;
+
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class CliTest {
+    private static final String input = "1 0\n2 2\n4 12\n5 20\n";
+
+    private StringWriter out;
+    private StringWriter err;
+
+    private int run(String stdin, String... args) {
+        out = new StringWriter();
+        err = new StringWriter();
+        return Cli.run(args, new StringReader(stdin), new PrintWriter(out), new PrintWriter(err));
+    }
+
+    @Test
+    public void testPoly() {
+        assertEquals(0, run(input), "exit status");
+        assertEquals("x^2 - x\n", out.toString(), "polynomial");
+    }
+
+    @Test
+    public void testCoeffs() {
+        assertEquals(0, run(input, "--coeffs"), "exit status");
+        assertEquals("0\n-1\n1\n", out.toString(), "coefficients");
+    }
+
+    @Test
+    public void testEval() {
+        assertEquals(0, run(input, "-e", "3", "-e", "1/2"), "exit status");
+        assertEquals("3\t6\n0.5\t-0.25\n", out.toString(), "evaluations");
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertEquals(1, run("1 2\n1 3\n"), "exit status");
+        assertTrue(err.toString().contains("duplicate node 1"), "error message");
+        assertEquals("", out.toString(), "no output");
+    }
+
+    @Test
+    public void testUsage() {
+        assertEquals(2, run(input, "--bogus"), "exit status for unknown option");
+        assertEquals(2, run(input, "-e"), "exit status for missing argument");
+        assertEquals(0, run("", "--help"), "exit status for help");
+        assertTrue(out.toString().startsWith("usage:"), "help message");
+    }
+}
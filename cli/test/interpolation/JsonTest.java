@@ -0,0 +1,38 @@
+package interpolation;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class JsonTest {
+    @Test
+    public void testParse() {
+        Object json = Json.parse(" {\"points\": [[1, \"1/3\"], [-2.5, 1e3]], \"ok\": true, \"none\": null} ");
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("points", Arrays.asList(Arrays.asList("1", "1/3"), Arrays.asList("-2.5", "1e3")));
+        expected.put("ok", Boolean.TRUE);
+        expected.put("none", null);
+        assertEquals(expected, json, "parsed document");
+    }
+
+    @Test
+    public void testEscapes() {
+        assertEquals("a\"b\\c\n\u00e9", Json.parse("\"a\\\"b\\\\c\\n\\u00e9\""), "escapes");
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("[1, 2"), "unterminated array");
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("[1] 2"), "trailing data");
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("\"abc"), "unterminated string");
+    }
+
+    @Test
+    public void testQuote() {
+        assertEquals("\"1 2/3\"", Json.quote("1 2/3"), "plain");
+        assertEquals("\"a\\\"b\\u000a\"", Json.quote("a\"b\n"), "escaped");
+    }
+}
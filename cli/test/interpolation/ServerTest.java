@@ -0,0 +1,163 @@
+package interpolation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class ServerTest {
+    private static final String points = "1 0\n2 2\n4 12\n5 20\n";
+
+    private static class Response {
+        private final int status;
+        private final String body;
+
+        private Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    private Response request(Server server, String method, String path, String contentType, String body)
+            throws IOException {
+        URL url = new URL("http://127.0.0.1:" + server.getAddress().getPort() + path);
+        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+        conn.setRequestMethod(method);
+        if (body != null) {
+            conn.setDoOutput(true);
+            conn.setRequestProperty("Content-Type", contentType);
+            try (OutputStream out = conn.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = conn.getResponseCode();
+        InputStream in = status < 400 ? conn.getInputStream() : conn.getErrorStream();
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        in.transferTo(buf);
+        in.close();
+        return new Response(status, buf.toString(StandardCharsets.UTF_8));
+    }
+
+    private Server startServer() throws IOException {
+        Server server = new Server(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        return server;
+    }
+
+    @Test
+    public void testPoly() throws IOException {
+        Server server = startServer();
+        try {
+            Response r = request(server, "POST", "/poly", "text/csv", points);
+            assertEquals(200, r.status, "status");
+            assertEquals("x^2 - x\n", r.body, "polynomial");
+            r = request(server, "POST", "/poly", "application/json", "[[0, \"1/2\"], [1, 0], [2, 3]]");
+            assertEquals("\"1.75x^2 - 2.25x + 0.5\"\n", r.body, "polynomial as json");
+        }
+        finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testCoeffsJson() throws IOException {
+        Server server = startServer();
+        try {
+            Response r = request(server, "POST", "/coeffs", "application/json",
+                    "{\"points\": [[1, 0], [\"2\", 2], {\"x\": 4, \"y\": \"12\"}]}");
+            assertEquals(200, r.status, "status");
+            assertEquals("[\"0\",\"-1\",\"1\"]\n", r.body, "coefficients");
+        }
+        finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testEval() throws IOException {
+        Server server = startServer();
+        try {
+            Response r = request(server, "POST", "/eval?x=3&x=1%2F2", "text/csv", points);
+            assertEquals(200, r.status, "status");
+            assertEquals("3,6\n0.5,-0.25\n", r.body, "evaluations");
+        }
+        finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testPlot() throws IOException {
+        Server server = startServer();
+        try {
+            Response r = request(server, "POST", "/plot?from=0&to=4&n=5", "text/csv", points);
+            assertEquals(200, r.status, "status");
+            assertEquals("0.0,0.0\n1.0,0.0\n2.0,2.0\n3.0,6.0\n4.0,12.0\n", r.body, "samples");
+            r = request(server, "POST", "/plot?n=20000", "text/csv", points);
+            assertEquals(20000, r.body.split("\n").length, "streamed samples");
+        }
+        finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testErrors() throws IOException {
+        Server server = startServer();
+        try {
+            assertEquals(400, request(server, "POST", "/poly", "text/csv", "1 2\n1 3\n").status,
+                    "duplicate node");
+            assertEquals(400, request(server, "POST", "/poly", "application/json", "[[1, 2]").status,
+                    "invalid json");
+            assertEquals(404, request(server, "POST", "/nothing", "text/csv", points).status,
+                    "unknown endpoint");
+            assertEquals(405, request(server, "GET", "/poly", null, null).status,
+                    "wrong method");
+        }
+        finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testRequestTooLarge() throws IOException {
+        Server server = new Server(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 16);
+        server.start();
+        try {
+            assertEquals(413, request(server, "POST", "/poly", "text/csv", points).status, "text body");
+            assertEquals(413, request(server, "POST", "/poly", "application/json",
+                    "[[1, 0], [2, 2], [4, 12]]").status, "json body");
+            assertEquals(200, request(server, "POST", "/poly", "text/csv", "1 0\n2 2\n").status,
+                    "body within the limit");
+        }
+        finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testStats() throws IOException {
+        Server server = startServer();
+        try {
+            request(server, "POST", "/poly", "text/csv", points);
+            request(server, "POST", "/coeffs", "text/csv", points);
+            Response r = request(server, "GET", "/stats", null, null);
+            assertEquals(200, r.status, "status");
+            assertTrue(r.body.contains("\"requests\":3"), "request count in " + r.body);
+            assertTrue(r.body.contains("\"cacheHits\":1"), "cache hits in " + r.body);
+            assertTrue(r.body.contains("\"cacheMisses\":1"), "cache misses in " + r.body);
+            assertTrue(r.body.contains("\"internHitRate\":"), "interning statistics in " + r.body);
+        }
+        finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package interpolation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Interpolation construction for various numbers and kinds of nodes:
+// consecutive integers, decimals with two fractional digits and random fractions.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InterpolationBenchmark {
+    @Param({"10", "100", "1000", "5000"})
+    public int n;
+
+    @Param({"integer", "decimal", "random"})
+    public String nodes;
+
+    private List<Point> points;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        points = new ArrayList<>(n);
+        for (int i = 0; i < n; ++i) {
+            Rational x;
+            switch (nodes) {
+                case "integer":
+                    x = new Rational(i);
+                    break;
+                case "decimal":
+                    x = new Rational(i * 100 + random.nextInt(100), 100);
+                    break;
+                default:
+                    // Distinct thanks to the integer part.
+                    x = new Rational(i).add(new Rational(random.nextInt(1000), random.nextInt(999) + 1001));
+                    break;
+            }
+            Rational y = new Rational(random.nextInt(2001) - 1000, random.nextInt(10) + 1);
+            points.add(new Point(x, y));
+        }
+    }
+
+    @Benchmark
+    public Poly construct() {
+        return new Interpolation(points).getResult();
+    }
+}
@@ -0,0 +1,71 @@
+package interpolation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Poly multiplication and exact evaluation across degrees.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolyBenchmark {
+    // Poly caches recent evaluations, so eval cycles through more distinct
+    // arguments than the cache holds and always measures the evaluation.
+    private static final int argumentCount = 1024;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int degree;
+
+    private Poly p;
+    private Poly q;
+    private Rational[] xs;
+    private int next;
+
+    private static Poly randomPoly(Random random, int degree) {
+        Rational[] coeffs = new Rational[degree + 1];
+        for (int i = 0; i <= degree; ++i) {
+            coeffs[i] = new Rational(random.nextInt(2001) - 1000, random.nextInt(100) + 1);
+        }
+        return new Poly(coeffs);
+    }
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        p = randomPoly(random, degree);
+        q = randomPoly(random, degree);
+        // Distinct fractions in [-3, -2) with small denominators, like -7/3.
+        xs = new Rational[argumentCount];
+        int count = 0;
+        for (int den = 1; count < xs.length; ++den) {
+            for (int num = -3 * den; num < -2 * den && count < xs.length; ++num) {
+                Rational x = new Rational(num, den);
+                if (x.getDen().intValue() == den) {
+                    xs[count++] = x;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Poly mul() {
+        return p.mul(q);
+    }
+
+    @Benchmark
+    public Rational eval() {
+        Rational x = xs[next];
+        next = (next + 1) % xs.length;
+        return p.eval(x);
+    }
+
+    // Repeated evaluation at one point, answered by the cache.
+    @Benchmark
+    public Rational evalCached() {
+        return p.eval(xs[0]);
+    }
+}
@@ -0,0 +1,68 @@
+package interpolation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+// Basic Rational operations on small (machine word) and huge (thousands of bits) operands.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RationalBenchmark {
+    @Param({"small", "huge"})
+    public String size;
+
+    private Rational a;
+    private Rational b;
+    // Same sign as a and close to it.
+    private Rational close;
+    private String text;
+
+    @Setup
+    public void setup() {
+        if (size.equals("small")) {
+            a = new Rational(355, 113);
+            b = new Rational(-22, 7);
+        }
+        else {
+            a = new Rational(BigInteger.valueOf(3).pow(2000).add(BigInteger.ONE), BigInteger.valueOf(7).pow(1000));
+            b = new Rational(BigInteger.valueOf(5).pow(1500).negate(), BigInteger.valueOf(11).pow(900));
+        }
+        close = a.mul(new Rational(1000001, 1000000));
+        text = a.getNum() + "/" + a.getDen();
+    }
+
+    @Benchmark
+    public Rational add() {
+        return a.add(b);
+    }
+
+    @Benchmark
+    public Rational mul() {
+        return a.mul(b);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return a.compareTo(b);
+    }
+
+    @Benchmark
+    public int compareToClose() {
+        return a.compareTo(close);
+    }
+
+    @Benchmark
+    public Rational parse() {
+        return Rational.parse(text);
+    }
+
+    @Benchmark
+    public String toStringBenchmark() {
+        return a.toString();
+    }
+}
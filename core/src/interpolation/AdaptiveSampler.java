@@ -0,0 +1,162 @@
+package interpolation;
+
+// Samples a polynomial in double precision for plotting.
+// Sampling starts with a uniform grid whose points are computed from integer
+// indices (so no error accumulates along the range). Then every segment whose
+// midpoint deviates from the chord by more than the tolerance (in pixels) is
+// split in half, until all segments are flat enough, narrower than a pixel
+// or the sample limit is reached.
+public class AdaptiveSampler {
+    private final int initialSamples;
+    private final int maxSamples;
+    private final double tolerance;
+
+    // Sampled points, ordered by x.
+    public static class Samples {
+        private final double[] xs;
+        private final double[] ys;
+
+        Samples(double[] xs, double[] ys) {
+            this.xs = xs;
+            this.ys = ys;
+        }
+
+        public int size() {
+            return xs.length;
+        }
+
+        public double getX(int i) {
+            return xs[i];
+        }
+
+        public double getY(int i) {
+            return ys[i];
+        }
+    }
+
+    // Constructs a sampler which starts with initialSamples uniform points,
+    // never evaluates the function more than maxSamples times in total and
+    // refines segments whose chord error is greater than tolerance pixels.
+    public AdaptiveSampler(int initialSamples, int maxSamples, double tolerance) {
+        if (initialSamples < 2) {
+            throw new IllegalArgumentException("At least 2 initial samples are required");
+        }
+        if (maxSamples < initialSamples) {
+            throw new IllegalArgumentException("Sample limit smaller than initial samples");
+        }
+        this.initialSamples = initialSamples;
+        this.maxSamples = maxSamples;
+        this.tolerance = tolerance;
+    }
+
+    // Samples the function in [start, stop], which is displayed in an area
+    // of the given width and height (in pixels). The y range of the initial
+    // grid is taken as the displayed range.
+    public Samples sample(DoubleEvaluator f, double start, double stop, double width, double height) {
+        double[] xs = grid(start, stop);
+        double[] ys = f.eval(xs);
+        double yMin = Double.POSITIVE_INFINITY;
+        double yMax = Double.NEGATIVE_INFINITY;
+        for (double y : ys) {
+            if (Double.isFinite(y)) {
+                yMin = Math.min(yMin, y);
+                yMax = Math.max(yMax, y);
+            }
+        }
+        double yScale = yMax > yMin ? height / (yMax - yMin) : 0.0;
+        return refine(f, xs, ys, start, stop, width, yScale);
+    }
+
+    // Samples the function in [start, stop], which is displayed in width
+    // pixels, where a unit of y takes yScale pixels. Used for parts of a
+    // larger display, whose y range a single part doesn't know.
+    public Samples sampleScaled(DoubleEvaluator f, double start, double stop, double width, double yScale) {
+        double[] xs = grid(start, stop);
+        return refine(f, xs, f.eval(xs), start, stop, width, yScale);
+    }
+
+    private double[] grid(double start, double stop) {
+        int n = initialSamples;
+        double[] xs = new double[n];
+        for (int i = 0; i < n; ++i) {
+            xs[i] = start + (stop - start) * i / (n - 1);
+        }
+        xs[n-1] = stop;
+        return xs;
+    }
+
+    private Samples refine(DoubleEvaluator f, double[] xs, double[] ys, double start, double stop, double width,
+            double yScale) {
+        int n = xs.length;
+        double minWidth = (stop - start) / Math.max(width, 1.0);
+
+        // active[i] tells whether the segment [xs[i], xs[i+1]] should be split.
+        boolean[] active = new boolean[n-1];
+        for (int i = 0; i < n-1; ++i) {
+            active[i] = true;
+        }
+        int budget = maxSamples - n;
+        while (true) {
+            int k = 0;
+            for (int i = 0; i < n-1; ++i) {
+                if (active[i] && xs[i+1] - xs[i] > minWidth) {
+                    ++k;
+                }
+                else {
+                    active[i] = false;
+                }
+            }
+            // We refine all segments in a pass or none at all, so that
+            // the resolution stays even when the limit is reached.
+            if (k == 0 || k > budget) {
+                break;
+            }
+            budget -= k;
+            double[] mxs = new double[k];
+            for (int i = 0, j = 0; i < n-1; ++i) {
+                if (active[i]) {
+                    mxs[j++] = (xs[i] + xs[i+1]) / 2.0;
+                }
+            }
+            double[] mys = f.eval(mxs);
+
+            int inserted = 0;
+            boolean[] keep = new boolean[k];
+            for (int i = 0, j = 0; i < n-1; ++i) {
+                if (active[i]) {
+                    double err = Math.abs(mys[j] - (ys[i] + ys[i+1]) / 2.0) * yScale;
+                    if (err > tolerance) {
+                        keep[j] = true;
+                        ++inserted;
+                    }
+                    ++j;
+                }
+            }
+            int m = n + inserted;
+            double[] newXs = new double[m];
+            double[] newYs = new double[m];
+            boolean[] newActive = new boolean[m-1];
+            int out = 0;
+            for (int i = 0, j = 0; i < n; ++i) {
+                newXs[out] = xs[i];
+                newYs[out] = ys[i];
+                ++out;
+                if (i < n-1 && active[i]) {
+                    if (keep[j]) {
+                        newActive[out-1] = true;
+                        newXs[out] = mxs[j];
+                        newYs[out] = mys[j];
+                        newActive[out] = true;
+                        ++out;
+                    }
+                    ++j;
+                }
+            }
+            xs = newXs;
+            ys = newYs;
+            active = newActive;
+            n = m;
+        }
+        return new Samples(xs, ys);
+    }
+}
@@ -0,0 +1,166 @@
+package interpolation;
+
+import java.util.stream.IntStream;
+
+// Fast approximate evaluation of a polynomial in double precision.
+// The evaluator takes a snapshot of polynomial's coefficients converted
+// to doubles, so it's independent from the Poly it was created from.
+// Batch evaluation uses the incubating Vector API when the jdk.incubator.vector
+// module is available and falls back to plain scalar code otherwise.
+public class DoubleEvaluator {
+    // Arrays shorter than this are never split between threads.
+    private static final int parallelChunk = 1 << 16;
+
+    private static final Kernel kernel = loadKernel();
+
+    private final double[] coeffs;
+    // Points are mapped to t = (x - center) * inverseScale before evaluation.
+    private final double center;
+    private final double inverseScale;
+
+    // Evaluates P(x) for xs[from], ..., xs[to-1] and stores the results in ys.
+    // xs and ys may be the same array.
+    interface Kernel {
+        void eval(double[] coeffs, double[] xs, double[] ys, int from, int to);
+    }
+
+    static class ScalarKernel implements Kernel {
+        @Override
+        public void eval(double[] coeffs, double[] xs, double[] ys, int from, int to) {
+            for (int i = from; i < to; ++i) {
+                ys[i] = horner(coeffs, xs[i]);
+            }
+        }
+    }
+
+    private static Kernel loadKernel() {
+        // VectorKernel is loaded reflectively, because linking it fails
+        // when the incubator module wasn't added to the module graph.
+        try {
+            Class<?> cls = Class.forName("interpolation.VectorKernel");
+            Kernel k = (Kernel) cls.getDeclaredConstructor().newInstance();
+            if (((VectorKernel) k).lanes() > 1) {
+                return k;
+            }
+        }
+        catch (ReflectiveOperationException | LinkageError ex) {
+            // Vector API is unavailable.
+        }
+        return new ScalarKernel();
+    }
+
+    // Returns true if batch evaluation uses the Vector API.
+    public static boolean isVectorized() {
+        return !(kernel instanceof ScalarKernel);
+    }
+
+    private static double horner(double[] coeffs, double x) {
+        double y = 0.0;
+        for (int k = coeffs.length - 1; k >= 0; --k) {
+            y = y * x + coeffs[k];
+        }
+        return y;
+    }
+
+    public DoubleEvaluator(Poly poly) {
+        this(new ShiftedPoly(poly));
+    }
+
+    // Evaluates in the shifted basis, which is much more accurate than
+    // the monomial form when nodes are far from zero.
+    public DoubleEvaluator(ShiftedPoly poly) {
+        coeffs = new double[poly.degree() + 1];
+        for (int i = 0; i < coeffs.length; ++i) {
+            coeffs[i] = poly.getPoly().get(i).toDouble();
+        }
+        center = poly.getCenter().toDouble();
+        inverseScale = poly.getScale().invert().toDouble();
+    }
+
+    // Returns the coefficient snapshot, ordered as in Poly.
+    // For shifted polynomials, these are the coefficients in t.
+    public double[] getCoeffs() {
+        return coeffs.clone();
+    }
+
+    // P(x)
+    public double eval(double x) {
+        return horner(coeffs, (x - center) * inverseScale);
+    }
+
+    private boolean isShifted() {
+        return center != 0.0 || inverseScale != 1.0;
+    }
+
+    // Kernels may evaluate in place, so the points are mapped into ys first.
+    private void evalRange(double[] xs, double[] ys, int from, int to) {
+        if (!isShifted()) {
+            kernel.eval(coeffs, xs, ys, from, to);
+            return;
+        }
+        for (int i = from; i < to; ++i) {
+            ys[i] = (xs[i] - center) * inverseScale;
+        }
+        kernel.eval(coeffs, ys, ys, from, to);
+    }
+
+    // Evaluates the polynomial in every point of xs.
+    public double[] eval(double[] xs) {
+        double[] ys = new double[xs.length];
+        eval(xs, ys);
+        return ys;
+    }
+
+    // Evaluates the polynomial in every point of xs and stores the results in ys.
+    public void eval(double[] xs, double[] ys) {
+        checkLengths(xs, ys);
+        Events.PolyEvalEvent event = beginBatch(xs.length);
+        evalRange(xs, ys, 0, xs.length);
+        commitBatch(event, xs.length);
+    }
+
+    // Same as eval(xs, ys), but large arrays are split into chunks
+    // which are evaluated in the common fork-join pool.
+    public void evalParallel(double[] xs, double[] ys) {
+        checkLengths(xs, ys);
+        int n = xs.length;
+        if (n <= parallelChunk) {
+            eval(xs, ys);
+            return;
+        }
+        Events.PolyEvalEvent event = beginBatch(n);
+        int chunks = (n + parallelChunk - 1) / parallelChunk;
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = c * parallelChunk;
+            int to = Math.min(n, from + parallelChunk);
+            evalRange(xs, ys, from, to);
+        });
+        commitBatch(event, n);
+    }
+
+    // Large batches are recorded by Flight Recorder.
+    private static Events.PolyEvalEvent beginBatch(int n) {
+        if (n < Events.batchThreshold) {
+            return null;
+        }
+        Events.PolyEvalEvent event = new Events.PolyEvalEvent();
+        event.begin();
+        return event;
+    }
+
+    private void commitBatch(Events.PolyEvalEvent event, int n) {
+        if (event != null && event.shouldCommit()) {
+            event.degree = coeffs.length - 1;
+            event.points = n;
+            event.exact = false;
+            event.commit();
+        }
+    }
+
+    private static void checkLengths(double[] xs, double[] ys) {
+        if (ys.length < xs.length) {
+            throw new IllegalArgumentException(
+                    "Output array too short: " + ys.length + " < " + xs.length);
+        }
+    }
+}
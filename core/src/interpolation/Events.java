@@ -0,0 +1,71 @@
+package interpolation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Java Flight Recorder events. Events of cheap operations are only emitted
+// above a size threshold, so they don't flood recordings. The settings
+// in jfr/interpolation.jfc enable them with reasonable duration thresholds.
+final class Events {
+    // Minimum degree of an exact multiplication or evaluation to be recorded.
+    static final int polyThreshold = 64;
+    // Minimum number of points of a floating point batch evaluation to be recorded.
+    static final int batchThreshold = 1024;
+
+    private Events() {}
+
+    @Name("interpolation.Interpolation")
+    @Label("Interpolation")
+    @Category({ "Interpolation", "Core" })
+    @Description("Computation of an interpolation polynomial")
+    static class InterpolationEvent extends Event {
+        @Label("Points")
+        int points;
+
+        @Label("Degree")
+        int degree;
+
+        @Label("Max Coefficient Bits")
+        @Description("Largest numerator or denominator bit length of the coefficients")
+        int maxCoeffBits;
+    }
+
+    @Name("interpolation.PolyMul")
+    @Label("Polynomial Multiplication")
+    @Category({ "Interpolation", "Core" })
+    static class PolyMulEvent extends Event {
+        @Label("Left Degree")
+        int leftDegree;
+
+        @Label("Right Degree")
+        int rightDegree;
+    }
+
+    @Name("interpolation.PolyEval")
+    @Label("Polynomial Evaluation")
+    @Category({ "Interpolation", "Core" })
+    static class PolyEvalEvent extends Event {
+        @Label("Degree")
+        int degree;
+
+        @Label("Points")
+        int points;
+
+        @Label("Exact")
+        @Description("Whether rational or floating point arithmetic was used")
+        boolean exact;
+    }
+
+    // Largest bit length of the coefficients' numerators and denominators.
+    static int maxCoeffBits(Poly poly) {
+        int bits = 0;
+        for (int i = 0; i <= poly.degree(); ++i) {
+            bits = Math.max(bits, poly.get(i).getNum().bitLength());
+            bits = Math.max(bits, poly.get(i).getDen().bitLength());
+        }
+        return bits;
+    }
+}
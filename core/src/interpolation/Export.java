@@ -0,0 +1,191 @@
+package interpolation;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CancellationException;
+import java.util.function.DoubleConsumer;
+
+// Streaming export of results to text files, with tab separated columns.
+// Values are formatted one at a time into a fixed size buffer, which is
+// written to the file channel whenever it fills up, so even a polynomial of
+// degree 50000 or a table with millions of rows never exists as a whole
+// in memory. Files are written next to their target and moved into place
+// when complete.
+//
+// Progress is reported from 0 to 1. Interrupting the exporting thread
+// cancels the export with a CancellationException.
+public final class Export {
+    private static final int bufferSize = 1 << 16;
+    // Points evaluated at once in double precision tables.
+    private static final int chunkSize = 1 << 14;
+    // Progress is reported at least this often, in rows, and at every percent.
+    private static final int progressStep = 1 << 12;
+
+    private Export() {
+    }
+
+    // Writes the coefficients a0, ..., an one per line, as p or p/q.
+    public static void coefficients(Path file, Poly poly, DoubleConsumer progress) throws IOException {
+        int n = poly.degree() + 1;
+        write(file, out -> {
+            for (int i = 0; i < n; ++i) {
+                out.write(poly.get(i));
+                out.newLine();
+                reportProgress(progress, i + 1, n);
+            }
+        }, progress);
+    }
+
+    // Writes rows "x P(x)" for count points evenly spaced from start to stop.
+    // Exact tables contain rationals, others doubles.
+    public static void evaluations(Path file, ShiftedPoly poly, Rational start, Rational stop, int count,
+            boolean exact, DoubleConsumer progress) throws IOException {
+        if (count < 1) {
+            throw new IllegalArgumentException("At least one point is required");
+        }
+        if (exact) {
+            Rational step = count == 1 ? Rational.valueOf(0) : stop.sub(start).div(Rational.valueOf(count - 1));
+            write(file, out -> {
+                Rational x = start;
+                for (int i = 0; i < count; ++i) {
+                    out.write(x);
+                    out.tab();
+                    out.write(poly.eval(x));
+                    out.newLine();
+                    reportProgress(progress, i + 1, count);
+                    x = x.add(step);
+                }
+            }, progress);
+            return;
+        }
+        DoubleEvaluator f = new DoubleEvaluator(poly);
+        double lower = start.toDouble();
+        double upper = stop.toDouble();
+        write(file, out -> {
+            double[] xs = new double[Math.min(count, chunkSize)];
+            double[] ys = new double[xs.length];
+            for (int from = 0; from < count; from += xs.length) {
+                int n = Math.min(xs.length, count - from);
+                // Points are computed from their index, so no error accumulates.
+                for (int j = 0; j < xs.length; ++j) {
+                    int i = Math.min(from + j, count - 1);
+                    xs[j] = count == 1 ? lower : lower + (upper - lower) * i / (count - 1);
+                }
+                f.eval(xs, ys);
+                for (int j = 0; j < n; ++j) {
+                    out.write(xs[j]);
+                    out.tab();
+                    out.write(ys[j]);
+                    out.newLine();
+                    reportProgress(progress, from + j + 1, count);
+                }
+            }
+        }, progress);
+    }
+
+    // Writes rows "x y" of the sampled plot.
+    public static void samples(Path file, AdaptiveSampler.Samples samples, DoubleConsumer progress)
+            throws IOException {
+        int n = samples.size();
+        write(file, out -> {
+            for (int i = 0; i < n; ++i) {
+                out.write(samples.getX(i));
+                out.tab();
+                out.write(samples.getY(i));
+                out.newLine();
+                reportProgress(progress, i + 1, n);
+            }
+        }, progress);
+    }
+
+    // Reports progress after done of total items were written, every
+    // progressStep items and whenever another percent is done. Throws
+    // CancellationException if the thread was interrupted.
+    static void reportProgress(DoubleConsumer progress, long done, long total) {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Export cancelled");
+        }
+        if (done % progressStep == 0 || done * 100 / total != (done - 1) * 100 / total) {
+            progress.accept((double) done / total);
+        }
+    }
+
+    private interface Body {
+        void write(TextOutput out) throws IOException;
+    }
+
+    private static void write(Path file, Body body, DoubleConsumer progress) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            TextOutput out = new TextOutput(channel);
+            body.write(out);
+            out.flush();
+        }
+        catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(tmp);
+            throw ex;
+        }
+        SessionFile.moveIntoPlace(tmp, file);
+        progress.accept(1.0);
+    }
+
+    // Buffered writing of text to a channel. Numbers only consist of ASCII
+    // characters, which are written as single bytes.
+    private static class TextOutput {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+
+        TextOutput(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void write(char c) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put((byte) c);
+        }
+
+        // Long strings, like numerators of high degree coefficients, are
+        // written in as many chunks as needed.
+        void write(String s) throws IOException {
+            for (int i = 0; i < s.length(); ++i) {
+                write(s.charAt(i));
+            }
+        }
+
+        void write(Rational a) throws IOException {
+            write(a.getNum().toString());
+            if (!a.getDen().equals(BigInteger.ONE)) {
+                write('/');
+                write(a.getDen().toString());
+            }
+        }
+
+        void write(double x) throws IOException {
+            write(Double.toString(x));
+        }
+
+        void tab() throws IOException {
+            write('\t');
+        }
+
+        void newLine() throws IOException {
+            write('\n');
+        }
+    }
+}
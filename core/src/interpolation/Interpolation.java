@@ -0,0 +1,365 @@
+package interpolation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntFunction;
+
+// Interpolation polynomial of a list of data points.
+//
+// Construction only copies the points. The stages of the computation run
+// when first needed and are kept for later calls:
+//   nodes        validated nodes in the shifted and scaled variable t,
+//   Newton form  coefficients from divided differences, enough to evaluate,
+//   polynomial   the Newton form expanded to monomials in t (getShifted),
+// and the monomial form in x is expanded from the last one (getResult).
+// Each stage is computed at most once, even when several threads ask for
+// it, unless its computation is cancelled.
+public class Interpolation {
+    private static final int maxStepsPerNode = 16;
+
+    private final List<Point> points;
+    // Coordinates are read from the stored points by index, so a PointSet
+    // is never expanded into arrays of Rationals.
+    private final IntFunction<Rational> xAt;
+    private final IntFunction<Rational> yAt;
+    private final DoubleConsumer progress;
+    private final Metrics.Report report;
+    // Polynomial in monomial form given to the restoring constructor, null otherwise.
+    private final Poly restored;
+    private volatile Nodes nodes;
+    private volatile NewtonForm newton;
+    private volatile ShiftedPoly result;
+
+    // Aborts the computation if the current thread was interrupted.
+    private static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Interpolation interrupted");
+        }
+    }
+
+    // Nodes t = (x - c) / s, where the scale s is the largest step dividing
+    // all node distances and the center c is the node grid point closest to
+    // the middle of the range. So the nodes t are small integers, e.g.
+    // t = -5, ..., 5 for timestamps a minute apart, which keeps the
+    // coefficients short. If the nodes span more than maxStepsPerNode
+    // steps per node, the scale is based on the range instead, which keeps
+    // the t and the coefficients in double range.
+    private static class Nodes {
+        final Rational[] ts;
+        final Rational center;
+        final Rational scale;
+
+        // Nodes of the n points with x coordinates xAt(0), ..., xAt(n-1).
+        // Throws IllegalArgumentException if two nodes are equal.
+        Nodes(int n, IntFunction<Rational> xAt) {
+            Set<Rational> seen = new HashSet<>();
+            Rational c = Rational.valueOf(0);
+            Rational s = Rational.valueOf(1);
+            if (n >= 2) {
+                Rational x0 = xAt.apply(0);
+                Rational min = x0;
+                Rational max = x0;
+                s = xAt.apply(1).sub(x0).abs();
+                for (int i = 0; i < n; ++i) {
+                    Rational x = xAt.apply(i);
+                    if (!seen.add(x)) {
+                        throw new IllegalArgumentException("Duplicate node " + x);
+                    }
+                    if (x.compareTo(min) < 0) {
+                        min = x;
+                    }
+                    if (x.compareTo(max) > 0) {
+                        max = x;
+                    }
+                    s = gcd(s, x.sub(x0));
+                }
+                Rational middle = min.add(max).div(Rational.valueOf(2));
+                Rational range = max.sub(min);
+                if (range.compareTo(s.mul(Rational.valueOf(maxStepsPerNode * (n - 1L)))) > 0) {
+                    // Nodes aren't on a grid, e.g. fractions with unrelated
+                    // denominators, where the common step is tiny and the t
+                    // huge. Then t spans [-(n-1)/2, (n-1)/2] instead.
+                    s = range.div(Rational.valueOf(n - 1));
+                    c = middle;
+                }
+                else {
+                    c = x0.add(roundToMultiple(middle.sub(x0), s));
+                }
+            }
+            center = c;
+            scale = s;
+            ts = new Rational[n];
+            for (int i = 0; i < n; ++i) {
+                ts[i] = toBasis(xAt.apply(i));
+            }
+        }
+
+        Rational toBasis(Rational x) {
+            return x.sub(center).div(scale);
+        }
+    }
+
+    // P(t) = b0 + (t - t0)(b1 + (t - t1)(b2 + ...)), where the b_k are
+    // divided differences of the data.
+    private static class NewtonForm {
+        final Nodes nodes;
+        final Rational[] coeffs;
+
+        // Progress goes from 0 to 0.5, the rest is left for the expansion.
+        // If metrics are enabled, the report gets filled.
+        NewtonForm(Nodes nodes, IntFunction<Rational> yAt, DoubleConsumer progress, Metrics.Report report) {
+            this.nodes = nodes;
+            Rational[] ts = nodes.ts;
+            int n = ts.length;
+            coeffs = new Rational[n];
+            if (n == 0) {
+                return;
+            }
+            long start = Metrics.enabled ? System.nanoTime() : 0;
+            // We only need two tables for divided differences
+            Rational[] prevDiffs = new Rational[n];
+            for (int i = 0; i < n; ++i) {
+                prevDiffs[i] = yAt.apply(i);
+            }
+            Rational[] curDiffs = new Rational[n];
+            coeffs[0] = prevDiffs[0];
+            if (Metrics.enabled) {
+                report.recordColumn(0, prevDiffs, n);
+            }
+
+            for (int k = 1; k < n; ++k) {
+                checkInterrupted();
+                for (int i = 0; i + k < n; ++i) {
+                    // f[t_i, ..., t_i+k] =
+                    //    (f[t_i+1, ..., t_i+k] - f[t_i, ..., t_i+k-1]) / (t_i+k - t_i)
+                    Rational p = prevDiffs[i+1].sub(prevDiffs[i]);
+                    Rational q = ts[i+k].sub(ts[i]);
+                    curDiffs[i] = p.div(q);
+                }
+                // b_k = f[t_0, ..., t_k]
+                coeffs[k] = curDiffs[0];
+                if (Metrics.enabled) {
+                    report.recordColumn(k, curDiffs, n - k);
+                }
+                Rational[] tmpDiffs = prevDiffs;
+                prevDiffs = curDiffs;
+                curDiffs = tmpDiffs;
+                // The kth column has n-k elements, so there are n(n-1)/2 of them in total.
+                progress.accept(0.5 * (1.0 - (double) (n-k-1) * (n-k) / ((double) n * (n-1))));
+            }
+
+            if (Metrics.enabled) {
+                report.setDifferencesNanos(System.nanoTime() - start);
+            }
+        }
+
+        // P(x) by nested multiplication, in O(n) operations.
+        Rational eval(Rational x) {
+            int n = coeffs.length;
+            if (n == 0) {
+                return Rational.valueOf(0);
+            }
+            Rational t = nodes.toBasis(x);
+            Rational y = coeffs[n-1];
+            for (int i = n-2; i >= 0; --i) {
+                y = y.mul(t.sub(nodes.ts[i])).add(coeffs[i]);
+            }
+            return y;
+        }
+
+        // Progress goes from 0.5 to 1.
+        ShiftedPoly expand(DoubleConsumer progress, Metrics.Report report) {
+            Rational[] ts = nodes.ts;
+            int n = ts.length;
+            long start = Metrics.enabled ? System.nanoTime() : 0;
+            Poly poly = new Poly();
+            for (int i = n-1; i >= 0; --i) {
+                checkInterrupted();
+                // P = P * (t - t_i) + b_i
+                poly = poly.mul(new Poly(ts[i].negate(), Rational.valueOf(1)));
+                poly = poly.add(new Poly(coeffs[i]));
+                // Step i costs O(n-i), so steps done so far make up ((n-i)/n)^2 of the work.
+                double done = (double) (n-i) / n;
+                progress.accept(0.5 + 0.5 * done * done);
+            }
+            if (Metrics.enabled && n > 0) {
+                report.setExpansionNanos(System.nanoTime() - start);
+            }
+            return new ShiftedPoly(poly, nodes.center, nodes.scale);
+        }
+    }
+
+    // Interpolates list of data points. List gets copied.
+    // Interpolating an empty list yields the zero polynomial.
+    public Interpolation(List<Point> points) {
+        this(points, progress -> {});
+    }
+
+    // Same as above, but reports progress of the computation (from 0 to 1)
+    // to progress, on the thread which triggers it. The computation can be
+    // cancelled by interrupting that thread, in which case a
+    // CancellationException is thrown and the next call starts over.
+    public Interpolation(List<Point> points, DoubleConsumer progress) {
+        this.points = new ArrayList<>(points);
+        this.progress = progress;
+        xAt = i -> this.points.get(i).getX();
+        yAt = i -> this.points.get(i).getY();
+        restored = null;
+        report = Metrics.enabled ? new Metrics.Report(points.size()) : null;
+    }
+
+    // Interpolates a compact point set. The set gets copied, but no Point
+    // objects are created (getPoints returns a view which creates them lazily).
+    public Interpolation(PointSet points) {
+        this(points, progress -> {});
+    }
+
+    public Interpolation(PointSet points, DoubleConsumer progress) {
+        PointSet copy = points.copy();
+        this.points = copy.asList();
+        this.progress = progress;
+        xAt = copy::getX;
+        yAt = copy::getY;
+        restored = null;
+        report = Metrics.enabled ? new Metrics.Report(copy.size()) : null;
+    }
+
+    // Restores a previously computed interpolation, e.g. one loaded from a
+    // file. The polynomial is trusted to interpolate the points. Its shifted
+    // form uses the same basis as a computed one, derived from the points
+    // when first needed.
+    public Interpolation(List<Point> points, Poly result) {
+        if (result.degree() >= Math.max(points.size(), 1)) {
+            throw new IllegalArgumentException(
+                    "Degree " + result.degree() + " too high for " + points.size() + " points");
+        }
+        this.points = new ArrayList<>(points);
+        restored = result;
+        xAt = i -> this.points.get(i).getX();
+        yAt = i -> this.points.get(i).getY();
+        progress = p -> {};
+        report = null;
+    }
+
+    // Throws IllegalArgumentException if two points share their x.
+    private Nodes nodes() {
+        Nodes n = nodes;
+        if (n == null) {
+            synchronized (this) {
+                n = nodes;
+                if (n == null) {
+                    n = new Nodes(points.size(), xAt);
+                    nodes = n;
+                }
+            }
+        }
+        return n;
+    }
+
+    private NewtonForm newton() {
+        NewtonForm f = newton;
+        if (f == null) {
+            synchronized (this) {
+                f = newton;
+                if (f == null) {
+                    f = new NewtonForm(nodes(), yAt, progress, report);
+                    newton = f;
+                }
+            }
+        }
+        return f;
+    }
+
+    // Returns the data points used.
+    public List<Point> getPoints() {
+        return Collections.unmodifiableList(points);
+    }
+
+    // Returns the computed interpolation polynomial in monomial form.
+    // It's expanded from the shifted form on the first call, which can take
+    // a while for large inputs.
+    public Poly getResult() {
+        return restored != null ? restored : getShifted().expand();
+    }
+
+    // Returns the interpolation polynomial in a shifted and scaled variable,
+    // which is cheaper to evaluate. It's computed on the first call.
+    // Throws IllegalArgumentException if two points share their x.
+    public ShiftedPoly getShifted() {
+        ShiftedPoly p = result;
+        if (p == null) {
+            synchronized (this) {
+                p = result;
+                if (p == null && restored != null) {
+                    Nodes n = nodes();
+                    p = ShiftedPoly.of(restored, n.center, n.scale);
+                    result = p;
+                }
+                else if (p == null) {
+                    Events.InterpolationEvent event = new Events.InterpolationEvent();
+                    event.begin();
+                    p = newton().expand(progress, report);
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.points = points.size();
+                        event.degree = p.degree();
+                        event.maxCoeffBits = Events.maxCoeffBits(p.getPoly());
+                        event.commit();
+                    }
+                    result = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    // Value of the interpolation polynomial at x. Until the polynomial is
+    // computed, it's evaluated in Newton form, which only needs the divided
+    // differences. Restored polynomials are used directly.
+    public Rational eval(Rational x) {
+        ShiftedPoly p = result;
+        if (p == null && restored != null) {
+            return restored.eval(x);
+        }
+        return p != null ? p.eval(x) : newton().eval(x);
+    }
+
+    // Value of the interpolation polynomial at x, computed directly from
+    // the points with Neville's scheme instead of using the polynomial.
+    public Rational evalDirect(Rational x) {
+        return Neville.eval(points, x);
+    }
+
+    // Returns coefficient growth and timing of the computation, which are
+    // only recorded if metrics are enabled. Computes the polynomial if needed.
+    public Optional<Metrics.Report> getReport() {
+        if (report != null) {
+            getShifted();
+        }
+        return Optional.ofNullable(report);
+    }
+
+    // Largest positive rational g such that a/g and b/g are integers.
+    // Returns |a| if b is 0.
+    private static Rational gcd(Rational a, Rational b) {
+        BigInteger num = a.getNum().multiply(b.getDen()).gcd(b.getNum().multiply(a.getDen()));
+        return Rational.valueOf(num, a.getDen().multiply(b.getDen()));
+    }
+
+    // Multiple of m closest to a.
+    private static Rational roundToMultiple(Rational a, Rational m) {
+        Rational q = a.div(m).add(Rational.valueOf(1, 2));
+        BigInteger floor = q.getNum().divide(q.getDen());
+        if (q.signum() < 0 && !floor.multiply(q.getDen()).equals(q.getNum())) {
+            floor = floor.subtract(BigInteger.ONE);
+        }
+        return Rational.valueOf(floor).mul(m);
+    }
+}
@@ -0,0 +1,109 @@
+package interpolation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+// Computes interpolations on a dedicated background thread.
+// Submitting new points cancels the computation in progress, so a burst of
+// submissions results in a single computation of the latest points.
+// Results and progress are handed to the callbacks through the publisher
+// executor (e.g. Platform::runLater), but only if they weren't superseded.
+public class InterpolationWorker {
+    // Progress is only published when it changes by at least this much.
+    private static final double progressStep = 0.01;
+
+    private final ExecutorService executor;
+    private final Executor publisher;
+    private final Consumer<Interpolation> onResult;
+    private final DoubleConsumer onProgress;
+    private long generation = 0;
+    private Future<?> running;
+
+    public InterpolationWorker(Executor publisher, Consumer<Interpolation> onResult, DoubleConsumer onProgress) {
+        this.publisher = publisher;
+        this.onResult = onResult;
+        this.onProgress = onProgress;
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "interpolation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Schedules interpolation of the points. List gets copied.
+    public synchronized void submit(List<Point> points) {
+        List<Point> copy = new ArrayList<>(points);
+        long gen = ++generation;
+        if (running != null) {
+            running.cancel(true);
+        }
+        running = executor.submit(() -> compute(copy, gen));
+    }
+
+    // Publishes an interpolation computed elsewhere (e.g. loaded from a file),
+    // cancelling the computation in progress.
+    public synchronized void publish(Interpolation result) {
+        long gen = ++generation;
+        if (running != null) {
+            running.cancel(true);
+            running = null;
+        }
+        publish(gen, () -> {
+            onProgress.accept(1.0);
+            onResult.accept(result);
+        });
+    }
+
+    // Stops the worker thread, cancelling the computation in progress.
+    public synchronized void shutdown() {
+        ++generation;
+        executor.shutdownNow();
+    }
+
+    private synchronized boolean isCurrent(long gen) {
+        return gen == generation;
+    }
+
+    private void compute(List<Point> points, long gen) {
+        // Skip requests superseded while waiting in the queue.
+        if (!isCurrent(gen)) {
+            return;
+        }
+        double[] reported = {0.0};
+        publish(gen, () -> onProgress.accept(0.0));
+        try {
+            Interpolation result = new Interpolation(points, progress -> {
+                if (progress - reported[0] >= progressStep) {
+                    reported[0] = progress;
+                    publish(gen, () -> onProgress.accept(progress));
+                }
+            });
+            // Stages are computed on first use. Results are usually displayed
+            // in monomial form, which is better computed here than on the
+            // publisher's thread.
+            result.getResult();
+            publish(gen, () -> {
+                onProgress.accept(1.0);
+                onResult.accept(result);
+            });
+        }
+        catch (CancellationException ex) {
+            // Superseded by a newer request.
+        }
+    }
+
+    private void publish(long gen, Runnable action) {
+        publisher.execute(() -> {
+            if (isCurrent(gen)) {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package interpolation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Bounded map with least recently used eviction, safe for concurrent use.
+// Entries are split into stripes with their own locks, so that threads
+// rarely contend, and each stripe evicts its own eldest entries. Caches
+// which are rarely shared between threads can use a single stripe.
+class LruCache<K, V> {
+    static final int stripeCount = 16;
+
+    private final Map<K, V>[] stripes;
+    private final int mask;
+
+    LruCache(int capacity) {
+        this(capacity, stripeCount);
+    }
+
+    // The number of stripes must be a power of two no larger than capacity.
+    LruCache(int capacity, int stripeCount) {
+        if (stripeCount < 1 || Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two");
+        }
+        if (capacity < stripeCount) {
+            throw new IllegalArgumentException("Capacity must be at least " + stripeCount);
+        }
+        int stripeCapacity = capacity / stripeCount;
+        // Arrays of a generic type can't be created, but all elements are Map<K, V>.
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Map<K, V>[] maps = new Map[stripeCount];
+        for (int i = 0; i < stripeCount; ++i) {
+            maps[i] = new LinkedHashMap<K, V>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > stripeCapacity;
+                }
+            };
+        }
+        stripes = maps;
+        mask = stripeCount - 1;
+    }
+
+    private Map<K, V> stripe(Object key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+
+    // Returns the value for key, or null if there is none.
+    V get(K key) {
+        Map<K, V> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    // Stores value unless key already has one, which is returned.
+    // Returns null if value was stored.
+    V putIfAbsent(K key, V value) {
+        Map<K, V> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.putIfAbsent(key, value);
+        }
+    }
+
+    int size() {
+        int n = 0;
+        for (Map<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                n += stripe.size();
+            }
+        }
+        return n;
+    }
+}
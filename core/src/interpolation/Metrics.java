@@ -0,0 +1,145 @@
+package interpolation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Operation counters for diagnosing slow interpolations.
+// Metrics are enabled with the system property -Dinterpolation.metrics=true.
+// The flag is a compile-time constant for the JIT, so when metrics are
+// disabled the counting code is eliminated and costs nothing.
+// Counters are striped (LongAdder), so they stay cheap under concurrency.
+public final class Metrics {
+    public static final boolean enabled = Boolean.getBoolean("interpolation.metrics");
+
+    private static final LongAdder gcdCalls = new LongAdder();
+    private static final LongAdder multiplications = new LongAdder();
+    private static final LongAdder rationals = new LongAdder();
+
+    private Metrics() {}
+
+    static void countGcd(int n) {
+        if (enabled) {
+            gcdCalls.add(n);
+        }
+    }
+
+    static void countMul(int n) {
+        if (enabled) {
+            multiplications.add(n);
+        }
+    }
+
+    static void countRational() {
+        if (enabled) {
+            rationals.increment();
+        }
+    }
+
+    // Values of the global counters at some point in time.
+    public static class Snapshot {
+        private final long gcdCalls;
+        private final long multiplications;
+        private final long rationals;
+
+        private Snapshot(long gcdCalls, long multiplications, long rationals) {
+            this.gcdCalls = gcdCalls;
+            this.multiplications = multiplications;
+            this.rationals = rationals;
+        }
+
+        // Number of BigInteger.gcd calls.
+        public long getGcdCalls() {
+            return gcdCalls;
+        }
+
+        // Number of BigInteger multiplications.
+        public long getMultiplications() {
+            return multiplications;
+        }
+
+        // Number of Rational objects created.
+        public long getRationals() {
+            return rationals;
+        }
+
+        @Override
+        public String toString() {
+            return "gcd calls: " + gcdCalls
+                    + ", multiplications: " + multiplications
+                    + ", rationals: " + rationals;
+        }
+    }
+
+    public static Snapshot snapshot() {
+        return new Snapshot(gcdCalls.sum(), multiplications.sum(), rationals.sum());
+    }
+
+    public static void reset() {
+        gcdCalls.reset();
+        multiplications.reset();
+        rationals.reset();
+    }
+
+    // Coefficient growth and timing of a single interpolation.
+    public static class Report {
+        private final int[] numBits;
+        private final int[] denBits;
+        private long differencesNanos;
+        private long expansionNanos;
+
+        Report(int n) {
+            numBits = new int[n];
+            denBits = new int[n];
+        }
+
+        // Records the largest bit lengths in the kth divided difference column.
+        void recordColumn(int k, Rational[] column, int size) {
+            for (int i = 0; i < size; ++i) {
+                numBits[k] = Math.max(numBits[k], column[i].getNum().bitLength());
+                denBits[k] = Math.max(denBits[k], column[i].getDen().bitLength());
+            }
+        }
+
+        void setDifferencesNanos(long nanos) {
+            differencesNanos = nanos;
+        }
+
+        void setExpansionNanos(long nanos) {
+            expansionNanos = nanos;
+        }
+
+        // Largest numerator bit length in each divided difference column
+        // (column 0 are the y values).
+        public int[] getNumBits() {
+            return numBits.clone();
+        }
+
+        // Largest denominator bit length in each divided difference column.
+        public int[] getDenBits() {
+            return denBits.clone();
+        }
+
+        // Time spent computing divided differences.
+        public long getDifferencesNanos() {
+            return differencesNanos;
+        }
+
+        // Time spent expanding the Newton form to monomial form.
+        public long getExpansionNanos() {
+            return expansionNanos;
+        }
+
+        @Override
+        public String toString() {
+            int maxNum = 0;
+            int maxDen = 0;
+            for (int k = 0; k < numBits.length; ++k) {
+                maxNum = Math.max(maxNum, numBits[k]);
+                maxDen = Math.max(maxDen, denBits[k]);
+            }
+            return "differences: " + differencesNanos / 1000000 + " ms"
+                    + ", expansion: " + expansionNanos / 1000000 + " ms"
+                    + ", max numerator bits: " + maxNum
+                    + ", max denominator bits: " + maxDen;
+        }
+    }
+}
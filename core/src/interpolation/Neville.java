@@ -0,0 +1,129 @@
+package interpolation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Value of the interpolation polynomial at a single point, computed directly
+// from the data points with the Neville-Aitken scheme. It takes O(n^2)
+// operations on a single array and never forms the polynomial, which is
+// cheaper when only a few values are needed.
+//
+// With d_i = x - x_i, the values of the polynomials interpolating the
+// points a, ..., b satisfy
+//   P[a..b] = (d_b * P[a..b-1] - d_a * P[a+1..b]) / (d_b - d_a)
+// Points are added one at a time: adding point k turns the array of
+// P[k-1-j..k-1] into P[k-j..k] in place, for j = 0, ..., k. Then the last
+// entry P[0..k] is the estimate using the first k+1 points, and stopping
+// after k points has only cost O(k^2).
+public final class Neville {
+    private Neville() {
+    }
+
+    // Exact value at x of the polynomial interpolating points.
+    // Throws IllegalArgumentException if two points share their x.
+    public static Rational eval(List<Point> points, Rational x) {
+        int n = points.size();
+        if (n == 0) {
+            return Rational.valueOf(0);
+        }
+        Rational[] d = new Rational[n];
+        for (int i = 0; i < n; ++i) {
+            d[i] = x.sub(points.get(i).getX());
+            // The value at a node is known, whatever the other points are.
+            if (d[i].isZero()) {
+                checkDistinct(points);
+                return points.get(i).getY();
+            }
+        }
+        Rational[] p = new Rational[n];
+        for (int k = 0; k < n; ++k) {
+            // carry holds P[k-j..k-1] from the previous point, p[j-1] already P[k-j+1..k].
+            Rational carry = p[0];
+            p[0] = points.get(k).getY();
+            for (int j = 1; j <= k; ++j) {
+                Rational q = d[k].sub(d[k - j]);
+                if (q.isZero()) {
+                    throw duplicate(points.get(k).getX());
+                }
+                Rational next = p[j];
+                p[j] = d[k].mul(carry).sub(d[k - j].mul(p[j - 1])).div(q);
+                carry = next;
+            }
+        }
+        return p[n - 1];
+    }
+
+    // Value at x of the polynomial interpolating (xs[i], ys[i]) in double precision.
+    // Throws IllegalArgumentException if two points share their x.
+    public static double eval(double[] xs, double[] ys, double x) {
+        return eval(xs, ys, x, 0.0, false);
+    }
+
+    // Same as above, but stops early once three successive estimates agree
+    // to the relative tolerance. Nodes are used in order of their distance
+    // to x, so the kth estimate interpolates the k nearest points, and the
+    // estimates settle once farther points stop changing the value.
+    // Points which aren't used aren't checked for duplicates.
+    public static double eval(double[] xs, double[] ys, double x, double tolerance) {
+        return eval(xs, ys, x, tolerance, true);
+    }
+
+    private static double eval(double[] xs, double[] ys, double x, double tolerance, boolean earlyExit) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Lengths differ: " + xs.length + " and " + ys.length);
+        }
+        int n = xs.length;
+        if (n == 0) {
+            return 0.0;
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; ++i) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> Math.abs(x - xs[i])));
+        double[] d = new double[n];
+        for (int i = 0; i < n; ++i) {
+            d[i] = x - xs[order[i]];
+        }
+        double[] p = new double[n];
+        double estimate = 0.0;
+        int agreements = 0;
+        for (int k = 0; k < n; ++k) {
+            double carry = p[0];
+            p[0] = ys[order[k]];
+            for (int j = 1; j <= k; ++j) {
+                double q = d[k] - d[k - j];
+                if (q == 0.0) {
+                    throw duplicate(xs[order[k]]);
+                }
+                double next = p[j];
+                p[j] = (d[k] * carry - d[k - j] * p[j - 1]) / q;
+                carry = next;
+            }
+            if (k > 0) {
+                agreements = Math.abs(p[k] - estimate) <= tolerance * Math.abs(p[k]) ? agreements + 1 : 0;
+                if (earlyExit && agreements == 2) {
+                    return p[k];
+                }
+            }
+            estimate = p[k];
+        }
+        return p[n - 1];
+    }
+
+    private static void checkDistinct(List<Point> points) {
+        Set<Rational> xs = new HashSet<>();
+        for (Point p : points) {
+            if (!xs.add(p.getX())) {
+                throw duplicate(p.getX());
+            }
+        }
+    }
+
+    private static IllegalArgumentException duplicate(Object x) {
+        return new IllegalArgumentException("Duplicate node " + x);
+    }
+}
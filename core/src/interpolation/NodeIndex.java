@@ -0,0 +1,228 @@
+package interpolation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+// Set of data points ordered by their x coordinate, with distinct x values.
+// It's implemented as a treap (randomized balanced binary search tree)
+// augmented with subtree sizes, so lookups by x, insertions and deletions
+// as well as access by position all take O(log n) expected time.
+public class NodeIndex {
+    private static class Node {
+        private Point point;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(Point point, int priority) {
+            this.point = point;
+            this.priority = priority;
+        }
+    }
+
+    private final Random random = new Random();
+    private Node root;
+
+    private static int size(Node n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static void update(Node n) {
+        n.size = 1 + size(n.left) + size(n.right);
+    }
+
+    private static Node rotateRight(Node n) {
+        Node l = n.left;
+        n.left = l.right;
+        update(n);
+        l.right = n;
+        update(l);
+        return l;
+    }
+
+    private static Node rotateLeft(Node n) {
+        Node r = n.right;
+        n.right = r.left;
+        update(n);
+        r.left = n;
+        update(r);
+        return r;
+    }
+
+    private static Node insert(Node n, Node fresh) {
+        if (n == null) {
+            return fresh;
+        }
+        int c = fresh.point.getX().compareTo(n.point.getX());
+        if (c == 0) {
+            throw new IllegalArgumentException("Duplicate node " + fresh.point.getX());
+        }
+        if (c < 0) {
+            n.left = insert(n.left, fresh);
+            if (n.left.priority > n.priority) {
+                return rotateRight(n);
+            }
+        }
+        else {
+            n.right = insert(n.right, fresh);
+            if (n.right.priority > n.priority) {
+                return rotateLeft(n);
+            }
+        }
+        update(n);
+        return n;
+    }
+
+    // Joins two treaps, where all keys in a are smaller than keys in b.
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static Node remove(Node n, Rational x) {
+        int c = x.compareTo(n.point.getX());
+        if (c == 0) {
+            return merge(n.left, n.right);
+        }
+        if (c < 0) {
+            n.left = remove(n.left, x);
+        }
+        else {
+            n.right = remove(n.right, x);
+        }
+        update(n);
+        return n;
+    }
+
+    private Node findNode(Rational x) {
+        Node n = root;
+        while (n != null) {
+            int c = x.compareTo(n.point.getX());
+            if (c == 0) {
+                return n;
+            }
+            n = c < 0 ? n.left : n.right;
+        }
+        return null;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    // Returns true if there is a point with the given x.
+    public boolean contains(Rational x) {
+        return findNode(x) != null;
+    }
+
+    // Returns the point with the given x or null.
+    public Point find(Rational x) {
+        Node n = findNode(x);
+        return n == null ? null : n.point;
+    }
+
+    // Returns the ith point in order of x.
+    public Point get(int i) {
+        if (i < 0 || i >= size()) {
+            throw new IndexOutOfBoundsException("Index " + i + " out of bounds for size " + size());
+        }
+        Node n = root;
+        while (true) {
+            int l = size(n.left);
+            if (i < l) {
+                n = n.left;
+            }
+            else if (i > l) {
+                i -= l + 1;
+                n = n.right;
+            }
+            else {
+                return n.point;
+            }
+        }
+    }
+
+    // Returns the position of the point with the given x. If there is none,
+    // returns -(insertion point) - 1, just like Collections.binarySearch.
+    public int indexOf(Rational x) {
+        int idx = 0;
+        Node n = root;
+        while (n != null) {
+            int c = x.compareTo(n.point.getX());
+            if (c < 0) {
+                n = n.left;
+            }
+            else if (c > 0) {
+                idx += size(n.left) + 1;
+                n = n.right;
+            }
+            else {
+                return idx + size(n.left);
+            }
+        }
+        return -idx - 1;
+    }
+
+    // Inserts the point and returns its position.
+    // Throws IllegalArgumentException if its x is already present.
+    public int insert(Point p) {
+        root = insert(root, new Node(p, random.nextInt()));
+        return indexOf(p.getX());
+    }
+
+    // Removes the point with the given x and returns its former position, or -1 if there was none.
+    public int remove(Rational x) {
+        int idx = indexOf(x);
+        if (idx >= 0) {
+            root = remove(root, x);
+        }
+        return idx;
+    }
+
+    // Replaces the point with the same x and returns its position, or -1 if there was none.
+    public int replace(Point p) {
+        Node n = findNode(p.getX());
+        if (n == null) {
+            return -1;
+        }
+        n.point = p;
+        return indexOf(p.getX());
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    // Returns all points in order of x.
+    public List<Point> toList() {
+        List<Point> out = new ArrayList<>(size());
+        Deque<Node> stack = new ArrayDeque<>();
+        Node n = root;
+        while (n != null || !stack.isEmpty()) {
+            while (n != null) {
+                stack.push(n);
+                n = n.left;
+            }
+            n = stack.pop();
+            out.add(n.point);
+            n = n.right;
+        }
+        return out;
+    }
+}
@@ -0,0 +1,272 @@
+package interpolation;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.stream.IntStream;
+
+// Exact product of integer polynomials with the number theoretic transform.
+//
+// Coefficients are split into 64 bit limbs, and a polynomial with limbs
+// becomes a single long vector in which coefficient i starts at index i*S,
+// where the stride S leaves room for all limb products of one coefficient
+// product. The vectors are convolved modulo three 62 bit primes of the form
+// c*2^40 + 1, one prime per thread, and the exact convolution is recovered
+// with the Chinese remainder theorem. Every entry of the convolution is a sum
+// of less than 2^31 products below 2^128, so it fits the 186 bit modulus.
+final class Ntt {
+    private static final Prime[] primes = {
+        new Prime(4611546380450660353L, 5),
+        new Prime(4611524390218104833L, 3),
+        new Prime(4611480409752993793L, 10),
+    };
+    // All primes have roots of unity of order 2^40, so the transform length
+    // is only limited by the array size.
+    private static final int maxSize = 1 << 30;
+
+    // Constants for Garner's algorithm, in Montgomery form where used as factors.
+    private static final long p1ModP2 = primes[1].toMontgomery(primes[0].p % primes[1].p);
+    private static final long inv1ModP2 = primes[1].toMontgomery(primes[1].inverse(primes[0].p % primes[1].p));
+    private static final long p1ModP3 = primes[2].toMontgomery(primes[0].p % primes[2].p);
+    private static final long inv12ModP3;
+    private static final BigInteger p1 = BigInteger.valueOf(primes[0].p);
+    private static final BigInteger p12 = p1.multiply(BigInteger.valueOf(primes[1].p));
+    private static final BigInteger modulus = p12.multiply(BigInteger.valueOf(primes[2].p));
+    private static final BigInteger halfModulus = modulus.shiftRight(1);
+
+    static {
+        Prime p3 = primes[2];
+        long p12ModP3 = p12.mod(BigInteger.valueOf(p3.p)).longValue();
+        inv12ModP3 = p3.toMontgomery(p3.inverse(p12ModP3));
+    }
+
+    private Ntt() {
+    }
+
+    // Number of 64 bit limbs needed for the largest magnitude in as.
+    private static int limbCount(BigInteger[] as) {
+        int bits = 0;
+        for (BigInteger a : as) {
+            bits = Math.max(bits, a.bitLength());
+        }
+        return limbCount(bits);
+    }
+
+    private static int limbCount(int bits) {
+        return Math.max(1, (bits + 63) / 64);
+    }
+
+    // Returns true if the product of polynomials with m and n coefficients
+    // of at most mBits and nBits bits fits the supported transform length.
+    static boolean supports(int m, int mBits, int n, int nBits) {
+        long stride = limbCount(mBits) + limbCount(nBits) - 1;
+        return (m + n - 1L) * stride <= maxSize;
+    }
+
+    // Coefficients of the product of a0 + a1*x + ... and b0 + b1*x + ...
+    static BigInteger[] multiply(BigInteger[] a, BigInteger[] b) {
+        int aLimbs = limbCount(a);
+        int bLimbs = limbCount(b);
+        int stride = aLimbs + bLimbs - 1;
+        int length = (a.length + b.length - 1) * stride;
+        int size = Integer.highestOneBit(Math.max(1, length - 1)) << 1;
+        Limbs la = new Limbs(a, aLimbs, stride);
+        Limbs lb = new Limbs(b, bLimbs, stride);
+        long[][] residues = new long[primes.length][];
+        IntStream.range(0, primes.length).parallel().forEach(k ->
+                residues[k] = primes[k].convolve(la, lb, size));
+        BigInteger[] out = new BigInteger[a.length + b.length - 1];
+        IntStream.range(0, out.length).parallel().forEach(t ->
+                out[t] = recombine(residues, t * stride, stride));
+        return out;
+    }
+
+    // Reassembles one coefficient from its stride limbs, propagating carries.
+    private static BigInteger recombine(long[][] residues, int from, int stride) {
+        byte[] bytes = new byte[8 * stride + 1];
+        ByteBuffer words = ByteBuffer.wrap(bytes);
+        BigInteger carry = BigInteger.ZERO;
+        for (int r = 0; r < stride; ++r) {
+            BigInteger v = carry.add(crt(residues[0][from + r], residues[1][from + r], residues[2][from + r]));
+            words.putLong(bytes.length - 8 * (r + 1), v.longValue());
+            carry = v.shiftRight(64);
+        }
+        // The leading zero byte keeps the limbs positive, the carry holds the sign.
+        return new BigInteger(bytes).add(carry.shiftLeft(64 * stride));
+    }
+
+    // The value in (-M/2, M/2] with the given residues, by Garner's algorithm.
+    private static BigInteger crt(long r1, long r2, long r3) {
+        Prime q2 = primes[1];
+        Prime q3 = primes[2];
+        // x = v1 + v2*p1 + v3*p1*p2
+        long v1 = r1;
+        long v2 = q2.mul(q2.sub(r2, v1 % q2.p), inv1ModP2);
+        long t = q3.sub(q3.sub(r3, v1 % q3.p), q3.mul(v2, p1ModP3));
+        long v3 = q3.mul(t, inv12ModP3);
+        BigInteger x = BigInteger.valueOf(v3).multiply(p12)
+                .add(BigInteger.valueOf(v2).multiply(p1))
+                .add(BigInteger.valueOf(v1));
+        return x.compareTo(halfModulus) > 0 ? x.subtract(modulus) : x;
+    }
+
+    // Magnitudes split into unsigned 64 bit limbs, least significant first,
+    // with coefficient i starting at index i*stride.
+    private static class Limbs {
+        private final long[] limbs;
+        private final boolean[] negative;
+        private final int count;
+        private final int stride;
+
+        Limbs(BigInteger[] as, int count, int stride) {
+            this.count = count;
+            this.stride = stride;
+            limbs = new long[as.length * count];
+            negative = new boolean[as.length];
+            for (int i = 0; i < as.length; ++i) {
+                negative[i] = as[i].signum() < 0;
+                byte[] bytes = as[i].abs().toByteArray();
+                for (int j = 0; j < bytes.length; ++j) {
+                    int shift = 8 * (bytes.length - 1 - j);
+                    if (shift < 64 * count) {
+                        limbs[i * count + shift / 64] |= (bytes[j] & 0xffL) << (shift % 64);
+                    }
+                }
+            }
+        }
+    }
+
+    // Arithmetic modulo p < 2^62 in Montgomery form with R = 2^64.
+    private static class Prime {
+        private final long p;
+        // p^-1 mod 2^64
+        private final long pInv;
+        // R^2 mod p
+        private final long r2;
+        private final long generator;
+
+        Prime(long p, long generator) {
+            this.p = p;
+            this.generator = generator;
+            long inv = p;
+            for (int i = 0; i < 5; ++i) {
+                inv *= 2 - p * inv;
+            }
+            pInv = inv;
+            BigInteger big = BigInteger.valueOf(p);
+            r2 = BigInteger.ONE.shiftLeft(128).mod(big).longValue();
+        }
+
+        // a * b / R mod p, for a, b < p
+        long mul(long a, long b) {
+            long hi = Math.multiplyHigh(a, b);
+            long m = a * b * pInv;
+            // high word of m * p, with m unsigned
+            long t = Math.multiplyHigh(m, p) + ((m >> 63) & p);
+            long r = hi - t;
+            return r < 0 ? r + p : r;
+        }
+
+        long add(long a, long b) {
+            long s = a + b;
+            return s >= p ? s - p : s;
+        }
+
+        long sub(long a, long b) {
+            long s = a - b;
+            return s < 0 ? s + p : s;
+        }
+
+        long toMontgomery(long a) {
+            return mul(a, r2);
+        }
+
+        // a^e in Montgomery form, for a in Montgomery form.
+        long pow(long a, long e) {
+            long y = toMontgomery(1);
+            while (e > 0) {
+                if ((e & 1) != 0) {
+                    y = mul(y, a);
+                }
+                a = mul(a, a);
+                e >>= 1;
+            }
+            return y;
+        }
+
+        // a^-1 mod p, for plain a.
+        long inverse(long a) {
+            return mul(pow(toMontgomery(a), p - 2), 1);
+        }
+
+        // Convolution of the limb vectors modulo p, with plain residues.
+        long[] convolve(Limbs a, Limbs b, int size) {
+            long[] fa = residues(a, size);
+            long[] fb = residues(b, size);
+            long root = pow(toMontgomery(generator), (p - 1) / size);
+            long[] roots = new long[Math.max(1, size / 2)];
+            roots[0] = toMontgomery(1);
+            for (int i = 1; i < roots.length; ++i) {
+                roots[i] = mul(roots[i - 1], root);
+            }
+            transform(fa, roots);
+            transform(fb, roots);
+            for (int i = 0; i < size; ++i) {
+                fa[i] = mul(fa[i], fb[i]);
+            }
+            // The inverse transform is the forward one with reversed output.
+            transform(fa, roots);
+            for (int i = 1, j = size - 1; i < j; ++i, --j) {
+                long t = fa[i];
+                fa[i] = fa[j];
+                fa[j] = t;
+            }
+            // Multiplying by plain 1/size also leaves the Montgomery form.
+            long scale = inverse(size);
+            for (int i = 0; i < size; ++i) {
+                fa[i] = mul(fa[i], scale);
+            }
+            return fa;
+        }
+
+        private long[] residues(Limbs a, int size) {
+            long[] out = new long[size];
+            for (int i = 0; i < a.negative.length; ++i) {
+                for (int j = 0; j < a.count; ++j) {
+                    long r = toMontgomery(Long.remainderUnsigned(a.limbs[i * a.count + j], p));
+                    out[i * a.stride + j] = a.negative[i] && r != 0 ? p - r : r;
+                }
+            }
+            return out;
+        }
+
+        // In place iterative radix 2 transform, roots[k] = w^k for a primitive
+        // root of unity w of order a.length.
+        private void transform(long[] a, long[] roots) {
+            int n = a.length;
+            for (int i = 1, j = 0; i < n; ++i) {
+                int bit = n >> 1;
+                for (; (j & bit) != 0; bit >>= 1) {
+                    j ^= bit;
+                }
+                j ^= bit;
+                if (i < j) {
+                    long t = a[i];
+                    a[i] = a[j];
+                    a[j] = t;
+                }
+            }
+            for (int len = 2; len <= n; len <<= 1) {
+                int half = len >> 1;
+                int step = n / len;
+                for (int i = 0; i < n; i += len) {
+                    for (int j = 0; j < half; ++j) {
+                        long u = a[i + j];
+                        long v = mul(a[i + j + half], roots[j * step]);
+                        a[i + j] = add(u, v);
+                        a[i + j + half] = sub(u, v);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package interpolation;
+
+import java.util.BitSet;
+
+// Reduces large series to what can actually be seen on screen.
+// All coordinates are in pixels. Points with non-finite coordinates are skipped.
+public class PixelDecimator {
+    private PixelDecimator() {}
+
+    // Decimates a polyline ordered by x. Consecutive vertices falling into
+    // the same pixel column are replaced by at most four of them: the first,
+    // the lowest, the highest and the last one, in their original order.
+    // This preserves the shape of the line including all its spikes.
+    // Output arrays must have room for n vertices, they may be the input arrays.
+    // Returns the number of vertices written.
+    public static int decimateLine(double[] xs, double[] ys, int n, double[] outXs, double[] outYs) {
+        int out = 0;
+        int i = 0;
+        while (i < n) {
+            if (!Double.isFinite(xs[i]) || !Double.isFinite(ys[i])) {
+                ++i;
+                continue;
+            }
+            long column = (long) Math.floor(xs[i]);
+            int first = i;
+            int last = i;
+            int min = i;
+            int max = i;
+            for (++i; i < n; ++i) {
+                if (!Double.isFinite(xs[i]) || !Double.isFinite(ys[i])) {
+                    continue;
+                }
+                if ((long) Math.floor(xs[i]) != column) {
+                    break;
+                }
+                last = i;
+                if (ys[i] < ys[min]) {
+                    min = i;
+                }
+                if (ys[i] > ys[max]) {
+                    max = i;
+                }
+            }
+            int lo = Math.min(min, max);
+            int hi = Math.max(min, max);
+            out = emit(xs, ys, first, outXs, outYs, out);
+            if (lo != first) {
+                out = emit(xs, ys, lo, outXs, outYs, out);
+            }
+            if (hi != lo && hi != first) {
+                out = emit(xs, ys, hi, outXs, outYs, out);
+            }
+            if (last != hi && last != lo && last != first) {
+                out = emit(xs, ys, last, outXs, outYs, out);
+            }
+        }
+        return out;
+    }
+
+    private static int emit(double[] xs, double[] ys, int i, double[] outXs, double[] outYs, int out) {
+        outXs[out] = xs[i];
+        outYs[out] = ys[i];
+        return out + 1;
+    }
+
+    // Decimates markers in any order, keeping only the first marker
+    // centered in each pixel of a width x height area. Markers outside
+    // of the area are dropped. Output arrays must have room for n markers,
+    // they may be the input arrays.
+    // Returns the number of markers written.
+    public static int decimateMarkers(double[] xs, double[] ys, int n, int width, int height,
+                                      double[] outXs, double[] outYs) {
+        BitSet taken = new BitSet();
+        int out = 0;
+        for (int i = 0; i < n; ++i) {
+            if (!(xs[i] >= 0 && xs[i] < width && ys[i] >= 0 && ys[i] < height)) {
+                continue;
+            }
+            int pixel = (int) ys[i] * width + (int) xs[i];
+            if (taken.get(pixel)) {
+                continue;
+            }
+            taken.set(pixel);
+            out = emit(xs, ys, i, outXs, outYs, out);
+        }
+        return out;
+    }
+}
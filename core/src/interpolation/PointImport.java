@@ -0,0 +1,112 @@
+package interpolation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Parses data points from text, one point per line.
+// Coordinates are separated with a tab, a comma or a semicolon. If none of them
+// is present, whitespace is used, provided the line splits into exactly two words
+// (so mixed numbers like "1 2/3" require one of the explicit separators).
+// Empty lines and lines starting with "#" are ignored.
+// Rows which can't be parsed or whose x duplicates an existing or earlier
+// node are skipped and reported as errors.
+public class PointImport {
+    private final List<Point> points;
+    private final List<String> errors;
+
+    private PointImport(List<Point> points, List<String> errors) {
+        this.points = points;
+        this.errors = errors;
+    }
+
+    // Returns the successfully parsed points, in input order.
+    public List<Point> getPoints() {
+        return Collections.unmodifiableList(points);
+    }
+
+    // Returns descriptions of rejected rows.
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public static PointImport parse(String text, Set<Rational> existingXs) {
+        try {
+            return parse(new StringReader(text), existingXs);
+        }
+        catch (IOException ex) {
+            // StringReader doesn't throw.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public static PointImport parse(Reader input, Set<Rational> existingXs) throws IOException {
+        return parse(input, existingXs, null);
+    }
+
+    // Same as above, but parsed values are interned, so that values repeated
+    // in the input share one instance. The interner may be null.
+    public static PointImport parse(Reader input, Set<Rational> existingXs, RationalInterner interner)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(input);
+        Set<Rational> xs = new HashSet<>(existingXs);
+        List<Point> points = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        String line;
+        int lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            ++lineNo;
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IOException("Import interrupted");
+            }
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] fields = split(trimmed);
+            if (fields == null) {
+                errors.add("Line " + lineNo + ": expected two values in `" + trimmed + "`");
+                continue;
+            }
+            Rational x, y;
+            try {
+                x = Rational.parse(fields[0]);
+                y = Rational.parse(fields[1]);
+                if (interner != null) {
+                    x = interner.intern(x);
+                    y = interner.intern(y);
+                }
+            }
+            catch (NumberFormatException ex) {
+                errors.add("Line " + lineNo + ": " + ex.getMessage());
+                continue;
+            }
+            if (!xs.add(x)) {
+                errors.add("Line " + lineNo + ": duplicate node " + x);
+                continue;
+            }
+            points.add(new Point(x, y));
+        }
+        return new PointImport(points, errors);
+    }
+
+    private static String[] split(String line) {
+        for (char sep : new char[] {'\t', ',', ';'}) {
+            int i = line.indexOf(sep);
+            if (i >= 0) {
+                if (line.indexOf(sep, i + 1) >= 0) {
+                    return null;
+                }
+                return new String[] {line.substring(0, i), line.substring(i + 1)};
+            }
+        }
+        String[] words = line.split("\\s+");
+        return words.length == 2 ? words : null;
+    }
+}
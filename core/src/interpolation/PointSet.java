@@ -0,0 +1,130 @@
+package interpolation;
+
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Compact storage of data points.
+// Coordinates are kept in columns of packed long numerators and denominators,
+// which takes 32 bytes per point instead of several objects. Values which don't
+// fit in a long are kept in side tables, marked by a zero denominator in the columns.
+// Point and Rational objects are only created when points are accessed.
+public class PointSet {
+    private static final int initialCapacity = 16;
+
+    private int size = 0;
+    private long[] xNums = new long[initialCapacity];
+    private long[] xDens = new long[initialCapacity];
+    private long[] yNums = new long[initialCapacity];
+    private long[] yDens = new long[initialCapacity];
+    private final Map<Integer, Rational> xOverflow = new HashMap<>();
+    private final Map<Integer, Rational> yOverflow = new HashMap<>();
+
+    public PointSet() {
+    }
+
+    public PointSet(List<Point> points) {
+        reserve(points.size());
+        for (Point p : points) {
+            add(p);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Makes sure that n points can be stored without reallocation.
+    public void reserve(int n) {
+        if (n <= xNums.length) {
+            return;
+        }
+        xNums = Arrays.copyOf(xNums, n);
+        xDens = Arrays.copyOf(xDens, n);
+        yNums = Arrays.copyOf(yNums, n);
+        yDens = Arrays.copyOf(yDens, n);
+    }
+
+    public void add(Point p) {
+        add(p.getX(), p.getY());
+    }
+
+    public void add(Rational x, Rational y) {
+        if (size == xNums.length) {
+            reserve(Math.max(initialCapacity, size + (size >> 1)));
+        }
+        store(x, xNums, xDens, xOverflow);
+        store(y, yNums, yDens, yOverflow);
+        ++size;
+    }
+
+    private static boolean fitsLong(BigInteger n) {
+        return n.bitLength() < Long.SIZE;
+    }
+
+    private void store(Rational a, long[] nums, long[] dens, Map<Integer, Rational> overflow) {
+        if (fitsLong(a.getNum()) && fitsLong(a.getDen())) {
+            nums[size] = a.getNum().longValue();
+            dens[size] = a.getDen().longValue();
+        }
+        else {
+            nums[size] = 0;
+            dens[size] = 0;
+            overflow.put(size, a);
+        }
+    }
+
+    private Rational load(int i, long[] nums, long[] dens, Map<Integer, Rational> overflow) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index " + i + " out of bounds for size " + size);
+        }
+        if (dens[i] == 0) {
+            return overflow.get(i);
+        }
+        // Stored values are reduced, small ones come from the shared table.
+        return Rational.valueOf(nums[i], dens[i]);
+    }
+
+    public Rational getX(int i) {
+        return load(i, xNums, xDens, xOverflow);
+    }
+
+    public Rational getY(int i) {
+        return load(i, yNums, yDens, yOverflow);
+    }
+
+    public Point get(int i) {
+        return new Point(getX(i), getY(i));
+    }
+
+    // Returns an independent copy of this set.
+    public PointSet copy() {
+        PointSet out = new PointSet();
+        out.size = size;
+        out.xNums = Arrays.copyOf(xNums, size);
+        out.xDens = Arrays.copyOf(xDens, size);
+        out.yNums = Arrays.copyOf(yNums, size);
+        out.yDens = Arrays.copyOf(yDens, size);
+        out.xOverflow.putAll(xOverflow);
+        out.yOverflow.putAll(yOverflow);
+        return out;
+    }
+
+    // Returns an unmodifiable list view of the points, which creates them on access.
+    public List<Point> asList() {
+        return new AbstractList<Point>() {
+            @Override
+            public Point get(int i) {
+                return PointSet.this.get(i);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
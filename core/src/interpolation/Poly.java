@@ -0,0 +1,570 @@
+package interpolation;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+// Immutable polynomial with Rational coefficients.
+// Methods in this class assume that coefficients are ordered in the following way:
+//   a0, a1, a2, ..., an
+// where
+//   P(x) = a0 + a1*x + a2*x^2 + a3*x^3 + ... + an*x^n
+//
+// Polynomials with few nonzero coefficients, like x^1000 - 1, are stored
+// sparse: only the nonzero coefficients together with their exponents.
+// The representation is chosen from the degree and the number of nonzero
+// coefficients alone, so equal polynomials are always stored the same way.
+public class Poly {
+    // Polynomials with at most 1/sparseRatio nonzero coefficients are sparse.
+    private static final int sparseRatio = 4;
+    // Polynomials of lower degree are always dense.
+    private static final int minSparseDegree = 16;
+    // Number of arguments remembered by eval.
+    private static final int evalCacheSize = 256;
+    // Dense products with at least this many coefficient products use Ntt.
+    // Below it, and for constant factors, the transforms don't pay off.
+    private static final int nttThreshold = 64;
+
+    // Coefficients a0, ..., an of dense polynomials, or only the nonzero
+    // coefficients of sparse ones.
+    private final Rational[] coeffs;
+    // Increasing exponents of the coefficients of sparse polynomials, null for dense ones.
+    private final int[] exponents;
+    // Lazily computed integer form of the coefficients, used by eval.
+    private volatile IntegerForm integerForm;
+    // Values of recent evaluations, created on first use. Only this instance
+    // refers to it, so it's collected together with the polynomial.
+    private volatile LruCache<Rational, Rational> evalCache;
+
+    // Coefficients brought to a common denominator:
+    //   P(x) = (c0 + c1*x + ... + cn*x^n) / den
+    // For sparse polynomials nums has an entry per stored coefficient.
+    private static class IntegerForm {
+        private final BigInteger[] nums;
+        private final BigInteger den;
+        // Maximum bit length of nums.
+        private final int bits;
+
+        private IntegerForm(Rational[] coeffs) {
+            BigInteger d = BigInteger.ONE;
+            Metrics.countGcd(coeffs.length);
+            Metrics.countMul(2 * coeffs.length);
+            for (Rational a : coeffs) {
+                BigInteger g = d.gcd(a.getDen());
+                d = d.divide(g).multiply(a.getDen());
+            }
+            nums = new BigInteger[coeffs.length];
+            int b = 0;
+            for (int i = 0; i < coeffs.length; ++i) {
+                nums[i] = coeffs[i].getNum().multiply(d.divide(coeffs[i].getDen()));
+                b = Math.max(b, nums[i].bitLength());
+            }
+            den = d;
+            bits = b;
+        }
+    }
+
+    private IntegerForm getIntegerForm() {
+        IntegerForm form = integerForm;
+        if (form == null) {
+            form = new IntegerForm(coeffs);
+            integerForm = form;
+        }
+        return form;
+    }
+
+    // Constructs the polynomial from given coefficients.
+    public Poly(Rational... as) {
+        int n = as.length;
+        while (n > 0 && as[n-1].isZero()) {
+            --n;
+        }
+        int nonzero = 0;
+        for (int i = 0; i < n; ++i) {
+            if (!as[i].isZero()) {
+                ++nonzero;
+            }
+        }
+        if (isSparse(n - 1, nonzero)) {
+            coeffs = new Rational[nonzero];
+            exponents = new int[nonzero];
+            int k = 0;
+            for (int i = 0; i < n; ++i) {
+                if (!as[i].isZero()) {
+                    coeffs[k] = as[i];
+                    exponents[k++] = i;
+                }
+            }
+        }
+        else {
+            coeffs = Arrays.copyOf(as, n);
+            exponents = null;
+        }
+    }
+
+    private Poly(Rational[] coeffs, int[] exponents) {
+        this.coeffs = coeffs;
+        this.exponents = exponents;
+    }
+
+    private static boolean isSparse(int degree, int nonzero) {
+        return degree >= minSparseDegree && (long) nonzero * sparseRatio <= degree + 1;
+    }
+
+    // Builds the polynomial from count nonzero terms with increasing exponents.
+    private static Poly fromTerms(int[] exps, Rational[] as, int count) {
+        if (count == 0) {
+            return new Poly();
+        }
+        int deg = exps[count - 1];
+        if (isSparse(deg, count)) {
+            return new Poly(Arrays.copyOf(as, count), Arrays.copyOf(exps, count));
+        }
+        Rational[] dense = new Rational[deg + 1];
+        Arrays.fill(dense, Rational.valueOf(0));
+        for (int k = 0; k < count; ++k) {
+            dense[exps[k]] = as[k];
+        }
+        return new Poly(dense, null);
+    }
+
+    // Returns the nonzero terms in sparse form, whatever the density.
+    // The result is only used internally and never escapes.
+    private Poly terms() {
+        if (exponents != null) {
+            return this;
+        }
+        int nonzero = 0;
+        for (Rational a : coeffs) {
+            if (!a.isZero()) {
+                ++nonzero;
+            }
+        }
+        Rational[] as = new Rational[nonzero];
+        int[] exps = new int[nonzero];
+        int k = 0;
+        for (int i = 0; i < coeffs.length; ++i) {
+            if (!coeffs[i].isZero()) {
+                as[k] = coeffs[i];
+                exps[k++] = i;
+            }
+        }
+        return new Poly(as, exps);
+    }
+
+    // Exponent of the kth stored coefficient.
+    private int exponent(int k) {
+        return exponents == null ? k : exponents[k];
+    }
+
+    boolean isSparse() {
+        return exponents != null;
+    }
+
+    // Returns ith coefficient. If i > degree always returns 0.
+    public Rational get(int i) {
+        if (exponents != null) {
+            int k = Arrays.binarySearch(exponents, i);
+            return k >= 0 ? coeffs[k] : Rational.valueOf(0);
+        }
+        if (i >= coeffs.length) {
+            return Rational.valueOf(0);
+        }
+        return coeffs[i];
+    }
+
+    // Returns polynomial's degree. We assume that the zero polynomial has a negative degree.
+    public int degree() {
+        return coeffs.length == 0 ? -1 : exponent(coeffs.length - 1);
+    }
+
+    // P + Q
+    public Poly add(Poly other) {
+        if (exponents != null || other.exponents != null) {
+            return addSparse(other);
+        }
+        int deg = Math.max(degree(), other.degree());
+        if (deg < 0) {
+            return new Poly();
+        }
+        Rational[] out = new Rational[deg+1];
+        for (int i = 0; i <= deg; ++i) {
+            out[i] = get(i).add(other.get(i));
+        }
+        return new Poly(out);
+    }
+
+    // Merges the stored terms of both polynomials by exponent.
+    private Poly addSparse(Poly other) {
+        int m = coeffs.length;
+        int n = other.coeffs.length;
+        int[] exps = new int[m + n];
+        Rational[] out = new Rational[m + n];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < m || j < n) {
+            int e = i < m ? exponent(i) : Integer.MAX_VALUE;
+            int f = j < n ? other.exponent(j) : Integer.MAX_VALUE;
+            Rational a;
+            if (e < f) {
+                a = coeffs[i++];
+            }
+            else if (f < e) {
+                a = other.coeffs[j++];
+                e = f;
+            }
+            else {
+                a = coeffs[i++].add(other.coeffs[j++]);
+            }
+            if (!a.isZero()) {
+                exps[k] = e;
+                out[k++] = a;
+            }
+        }
+        return fromTerms(exps, out, k);
+    }
+
+    // P * Q
+    public Poly mul(Poly other) {
+        if (degree() < 0 || other.degree() < 0) {
+            return new Poly();
+        }
+        int deg = degree() + other.degree();
+        Events.PolyMulEvent event = null;
+        if (deg >= Events.polyThreshold) {
+            event = new Events.PolyMulEvent();
+            event.begin();
+        }
+        Poly result = exponents != null || other.exponents != null
+                ? terms().mulSparse(other.terms())
+                : mulDense(other);
+        if (event != null && event.shouldCommit()) {
+            event.leftDegree = degree();
+            event.rightDegree = other.degree();
+            event.commit();
+        }
+        return result;
+    }
+
+    private Poly mulDense(Poly other) {
+        if (useNtt(other)) {
+            return mulNtt(other);
+        }
+        int deg = degree() + other.degree();
+        Rational[] out = new Rational[deg+1];
+        for (int i = 0; i <= deg; ++i) {
+            out[i] = Rational.valueOf(0);
+        }
+        for (int i = 0; i <= degree(); ++i) {
+            for (int j = 0; j <= other.degree(); ++j) {
+                Rational a = coeffs[i];
+                Rational b = other.coeffs[j];
+                out[i+j] = out[i+j].add(a.mul(b));
+            }
+        }
+        return new Poly(out);
+    }
+
+    // Large products with the number theoretic transform, which takes
+    // O(N log N) operations for N limbs of all coefficients instead of the
+    // O(mn) coefficient products of the schoolbook method.
+    private boolean useNtt(Poly other) {
+        int m = coeffs.length;
+        int n = other.coeffs.length;
+        if (Math.min(m, n) < 2 || (long) m * n < nttThreshold) {
+            return false;
+        }
+        // The transform length grows with both the size and the bit length.
+        return Ntt.supports(m, getIntegerForm().bits, n, other.getIntegerForm().bits);
+    }
+
+    private Poly mulNtt(Poly other) {
+        IntegerForm a = getIntegerForm();
+        IntegerForm b = other.getIntegerForm();
+        BigInteger[] c = Ntt.multiply(a.nums, b.nums);
+        BigInteger den = a.den.multiply(b.den);
+        Rational[] out = new Rational[c.length];
+        for (int i = 0; i < c.length; ++i) {
+            out[i] = Rational.valueOf(c[i], den);
+        }
+        return new Poly(out);
+    }
+
+    // Product of two polynomials in sparse form. A heap keeps the next product
+    // for every term of the shorter factor, so products are produced by
+    // increasing exponent and equal exponents are summed as they come. This
+    // takes O(mn log m) operations and only O(m) extra space for the heap.
+    private Poly mulSparse(Poly other) {
+        Poly p = this;
+        Poly q = other;
+        if (p.coeffs.length > q.coeffs.length) {
+            p = other;
+            q = this;
+        }
+        int m = p.coeffs.length;
+        int n = q.coeffs.length;
+        // next[i] is the term of q to be multiplied by the ith term of p.
+        int[] next = new int[m];
+        // Indices of p ordered by the exponent of their next product.
+        // Initially these are p.exponents[i] + q.exponents[0], which increase with i.
+        int[] heap = new int[m];
+        for (int i = 0; i < m; ++i) {
+            heap[i] = i;
+        }
+        int size = m;
+        int capacity = (int) Math.min((long) m * n, p.degree() + q.degree() + 1L);
+        int[] exps = new int[capacity];
+        Rational[] out = new Rational[capacity];
+        int count = 0;
+        int e = -1;
+        Rational sum = null;
+        while (size > 0) {
+            int i = heap[0];
+            int f = p.exponents[i] + q.exponents[next[i]];
+            Rational t = p.coeffs[i].mul(q.coeffs[next[i]]);
+            if (f == e) {
+                sum = sum.add(t);
+            }
+            else {
+                if (sum != null && !sum.isZero()) {
+                    exps[count] = e;
+                    out[count++] = sum;
+                }
+                e = f;
+                sum = t;
+            }
+            if (++next[i] == n) {
+                heap[0] = heap[--size];
+            }
+            siftDown(heap, size, p.exponents, q.exponents, next);
+        }
+        if (sum != null && !sum.isZero()) {
+            exps[count] = e;
+            out[count++] = sum;
+        }
+        return fromTerms(exps, out, count);
+    }
+
+    // Restores the heap order of mulSparse after its top entry has changed.
+    private static void siftDown(int[] heap, int size, int[] pe, int[] qe, int[] next) {
+        int i = 0;
+        int top = heap[0];
+        int key = size > 0 ? pe[top] + qe[next[top]] : 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            int childKey = pe[heap[child]] + qe[next[heap[child]]];
+            if (child + 1 < size) {
+                int rightKey = pe[heap[child + 1]] + qe[next[heap[child + 1]]];
+                if (rightKey < childKey) {
+                    ++child;
+                    childKey = rightKey;
+                }
+            }
+            if (key <= childKey) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = top;
+    }
+
+    // P(x). Values at recently used arguments are remembered, so repeated
+    // evaluations at the same points don't repeat the work.
+    public Rational eval(Rational x) {
+        if (degree() <= 0) {
+            return get(0);
+        }
+        LruCache<Rational, Rational> cache = getEvalCache();
+        Rational y = cache.get(x);
+        if (y == null) {
+            y = evalUncached(x);
+            cache.putIfAbsent(x, y);
+        }
+        return y;
+    }
+
+    private LruCache<Rational, Rational> getEvalCache() {
+        LruCache<Rational, Rational> cache = evalCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = evalCache;
+                if (cache == null) {
+                    // Evaluations of one polynomial rarely run in parallel.
+                    cache = new LruCache<>(evalCacheSize, 1);
+                    evalCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    private Rational evalUncached(Rational x) {
+        if (x.getDen().equals(BigInteger.ONE)) {
+            return evalInteger(x.getNum());
+        }
+        if (exponents != null) {
+            return evalSparse(x.getNum(), x.getDen());
+        }
+        // For x = p/q we evaluate the integer polynomial
+        //   P(x) * q^n * den = c0*q^n + c1*p*q^(n-1) + ... + cn*p^n
+        // with Horner's scheme and reduce the fraction only once at the end.
+        Events.PolyEvalEvent event = beginEval();
+        IntegerForm form = getIntegerForm();
+        BigInteger p = x.getNum();
+        BigInteger q = x.getDen();
+        BigInteger qPow = BigInteger.ONE;
+        BigInteger y = form.nums[degree()];
+        Metrics.countMul(3 * degree() + 1);
+        for (int i = degree() - 1; i >= 0; --i) {
+            qPow = qPow.multiply(q);
+            y = y.multiply(p).add(form.nums[i].multiply(qPow));
+        }
+        commitEval(event);
+        return Rational.valueOf(y, form.den.multiply(qPow));
+    }
+
+    // P(x) for integral x.
+    public Rational eval(BigInteger x) {
+        return eval(Rational.valueOf(x));
+    }
+
+    private Rational evalInteger(BigInteger x) {
+        if (exponents != null) {
+            return evalSparse(x, BigInteger.ONE);
+        }
+        Events.PolyEvalEvent event = beginEval();
+        IntegerForm form = getIntegerForm();
+        BigInteger y = form.nums[degree()];
+        Metrics.countMul(degree());
+        for (int i = degree() - 1; i >= 0; --i) {
+            y = y.multiply(x).add(form.nums[i]);
+        }
+        commitEval(event);
+        return Rational.valueOf(y, form.den);
+    }
+
+    // P(p/q) for sparse polynomials. Horner's scheme runs over the stored
+    // terms only and bridges the gaps between exponents with powers:
+    //   y = y * p^g + c_k * q^(e_n - e_k),  where g = e_(k+1) - e_k
+    // after which P(p/q) * q^e_n * den = y * p^e_0.
+    private Rational evalSparse(BigInteger p, BigInteger q) {
+        Events.PolyEvalEvent event = beginEval();
+        IntegerForm form = getIntegerForm();
+        int last = coeffs.length - 1;
+        BigInteger y = form.nums[last];
+        BigInteger qPow = BigInteger.ONE;
+        Metrics.countMul(4 * last + 3);
+        for (int k = last - 1; k >= 0; --k) {
+            int gap = exponents[k + 1] - exponents[k];
+            qPow = qPow.multiply(q.pow(gap));
+            y = y.multiply(p.pow(gap)).add(form.nums[k].multiply(qPow));
+        }
+        y = y.multiply(p.pow(exponents[0]));
+        qPow = qPow.multiply(q.pow(exponents[0]));
+        commitEval(event);
+        return Rational.valueOf(y, form.den.multiply(qPow));
+    }
+
+    // Evaluations of high degree polynomials are recorded by Flight Recorder.
+    private Events.PolyEvalEvent beginEval() {
+        if (degree() < Events.polyThreshold) {
+            return null;
+        }
+        Events.PolyEvalEvent event = new Events.PolyEvalEvent();
+        event.begin();
+        return event;
+    }
+
+    private void commitEval(Events.PolyEvalEvent event) {
+        if (event != null && event.shouldCommit()) {
+            event.degree = degree();
+            event.points = 1;
+            event.exact = true;
+            event.commit();
+        }
+    }
+
+    // P(x) for integral x.
+    public Rational eval(long x) {
+        return eval(BigInteger.valueOf(x));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Poly other = (Poly)obj;
+        // The representation only depends on the coefficients, so a dense
+        // polynomial never equals a sparse one.
+        return Arrays.equals(exponents, other.exponents) && Arrays.equals(coeffs, other.coeffs);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(coeffs) + Arrays.hashCode(exponents);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder();
+        try {
+            write(buf);
+        }
+        catch (IOException ex) {
+            // StringBuilder doesn't throw.
+            throw new IllegalStateException(ex);
+        }
+        return buf.toString();
+    }
+
+    // Writes the same text as toString, one term at a time, so that huge
+    // polynomials can be streamed without building the whole string.
+    public void write(Appendable out) throws IOException {
+        if (degree() < 0) {
+            out.append("0");
+            return;
+        }
+        boolean first = true;
+        for (int k = coeffs.length - 1; k >= 0; --k) {
+            int i = exponent(k);
+            Rational a = coeffs[k];
+            if (a.isZero()) {
+                continue;
+            }
+            // sign
+            if (first) {
+                if (a.signum() < 0) {
+                    out.append("- ");
+                }
+                first = false;
+            }
+            else {
+                out.append(a.signum() >= 0 ? " + " : " - ");
+            }
+            // number
+            a = a.abs();
+            if (i == 0) {
+                out.append(a.toString());
+            }
+            else {
+                if (a.compareToOne() != 0) {
+                    String str = a.toString();
+                    if (str.contains("/") || str.contains(" ")) {
+                        str = "(" + str + ")";
+                    }
+                    out.append(str);
+                }
+                out.append("x");
+                if (i > 1) {
+                    out.append("^" + i);
+                }
+            }
+        }
+    }
+}
@@ -12,6 +12,8 @@ import java.util.Optional;
 public class Rational implements Comparable<Rational> {
     private final BigInteger num;
     private final BigInteger den;
+    // Cached hash code, 0 if not computed yet. Races only compute it again.
+    private int hash;
 
     public BigInteger getNum() {
         return num;
@@ -23,6 +25,8 @@ public class Rational implements Comparable<Rational> {
 
     // Least common multiple.
     private BigInteger lcm(BigInteger a, BigInteger b) {
+        Metrics.countGcd(1);
+        Metrics.countMul(1);
         BigInteger d = a.gcd(b);
         if (d.signum() == 0) {
             return d;
@@ -32,20 +36,140 @@ public class Rational implements Comparable<Rational> {
 
     // Construct a Rational from its fractional parts.
     public Rational(BigInteger p, BigInteger q) {
+        this(q.signum() < 0 ? p.negate() : p, q.abs(), commonDivisor(p, q));
+    }
+
+    public Rational(long p, long q) {
+        this(BigInteger.valueOf(p), BigInteger.valueOf(q));
+    }
+
+    // p/q divided by d, for q > 0. Fractions already in canonical form pass
+    // d = 1, which skips the division.
+    private Rational(BigInteger p, BigInteger q, BigInteger d) {
+        Metrics.countRational();
+        if (d.equals(BigInteger.ONE)) {
+            num = p;
+            den = q;
+        }
+        else {
+            num = p.divide(d);
+            den = q.divide(d);
+        }
+    }
+
+    private static BigInteger commonDivisor(BigInteger p, BigInteger q) {
         if (q.signum() == 0) {
             throw new IllegalArgumentException("Denominator can't be 0");
         }
-        if (q.signum() < 0) {
-            p = p.negate();
-            q = q.negate();
+        Metrics.countGcd(1);
+        return p.gcd(q);
+    }
+
+    // Preallocated values returned by valueOf: integers up to smallInteger
+    // in absolute value and fractions p/q with q <= smallDenominator and
+    // |p/q| <= smallDenominator, which covers halves, thirds, ..., tenths.
+    private static final int smallInteger = 256;
+    private static final int smallDenominator = 10;
+    private static final Rational[] smallIntegers = new Rational[2 * smallInteger + 1];
+    private static final Rational[][] smallFractions = new Rational[smallDenominator + 1][];
+
+    static {
+        for (int p = -smallInteger; p <= smallInteger; ++p) {
+            smallIntegers[p + smallInteger] = new Rational(BigInteger.valueOf(p), BigInteger.ONE, BigInteger.ONE);
+        }
+        for (int q = 2; q <= smallDenominator; ++q) {
+            int bound = smallDenominator * q;
+            smallFractions[q] = new Rational[2 * bound + 1];
+            for (int p = -bound; p <= bound; ++p) {
+                if (gcd(Math.abs(p), q) == 1) {
+                    smallFractions[q][p + bound] =
+                            new Rational(BigInteger.valueOf(p), BigInteger.valueOf(q), BigInteger.ONE);
+                }
+            }
         }
-        BigInteger d = p.gcd(q);
-        num = p.divide(d);
-        den = q.divide(d);
     }
 
-    public Rational(long p, long q) {
-        this(BigInteger.valueOf(p), BigInteger.valueOf(q));
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    // Returns the preallocated p/q, if there is one. The fraction must be reduced.
+    private static Rational small(long p, long q) {
+        // No Math.abs, which is negative for Long.MIN_VALUE.
+        if (q == 1) {
+            return p >= -smallInteger && p <= smallInteger ? smallIntegers[(int) p + smallInteger] : null;
+        }
+        if (q <= smallDenominator && p >= -smallDenominator * q && p <= smallDenominator * q) {
+            return smallFractions[(int) q][(int) p + smallDenominator * (int) q];
+        }
+        return null;
+    }
+
+    // Returns the preallocated instance equal to a, or null if there is none.
+    static Rational shared(Rational a) {
+        if (a.num.bitLength() < Long.SIZE && a.den.bitLength() < Long.SIZE) {
+            return small(a.num.longValue(), a.den.longValue());
+        }
+        return null;
+    }
+
+    // Returns the preallocated instance equal to a, or a itself.
+    static Rational canonical(Rational a) {
+        Rational small = shared(a);
+        return small != null ? small : a;
+    }
+
+    // Factories, which return shared instances of small values and reduce
+    // fractions which fit in a long without BigInteger arithmetic.
+    // Unlike constructors, they don't necessarily create new objects.
+    public static Rational valueOf(long p, long q) {
+        if (q == 0) {
+            throw new IllegalArgumentException("Denominator can't be 0");
+        }
+        if (p == Long.MIN_VALUE || q == Long.MIN_VALUE) {
+            return new Rational(BigInteger.valueOf(p), BigInteger.valueOf(q));
+        }
+        if (q < 0) {
+            p = -p;
+            q = -q;
+        }
+        long d = gcd(Math.abs(p), q);
+        p /= d;
+        q /= d;
+        Rational small = small(p, q);
+        if (small != null) {
+            return small;
+        }
+        return new Rational(BigInteger.valueOf(p), BigInteger.valueOf(q), BigInteger.ONE);
+    }
+
+    public static Rational valueOf(long n) {
+        return valueOf(n, 1);
+    }
+
+    public static Rational valueOf(BigInteger p, BigInteger q) {
+        if (p.bitLength() < Long.SIZE && q.bitLength() < Long.SIZE) {
+            return valueOf(p.longValue(), q.longValue());
+        }
+        return new Rational(p, q);
+    }
+
+    public static Rational valueOf(BigInteger n) {
+        return valueOf(n, BigInteger.ONE);
+    }
+
+    // Constructs a Rational from a fraction already in canonical form
+    // (e.g. read back from a file), skipping the gcd computation.
+    static Rational ofReduced(BigInteger p, BigInteger q) {
+        if (q.signum() <= 0) {
+            throw new IllegalArgumentException("Denominator must be positive");
+        }
+        return new Rational(p, q, BigInteger.ONE);
     }
 
     // Construct a Rational from an integer.
@@ -71,6 +195,7 @@ public class Rational implements Comparable<Rational> {
     public Rational add(Rational x) {
         // We use the lcm to minimize the likelihood of overflows.
         BigInteger q = lcm(den, x.den);
+        Metrics.countMul(2);
         BigInteger p = num.multiply(q.divide(den)).add(x.num.multiply(q.divide(x.den)));
         return new Rational(p, q);
     }
@@ -89,6 +214,8 @@ public class Rational implements Comparable<Rational> {
     public Rational mul(Rational x) {
         // We reduce the fraction before doing the multiplication to minimize
         // the likelihood of overflows.
+        Metrics.countGcd(2);
+        Metrics.countMul(2);
         BigInteger d1 = num.gcd(x.den);
         BigInteger d2 = x.num.gcd(den);
         return new Rational(
@@ -107,6 +234,16 @@ public class Rational implements Comparable<Rational> {
         return num.signum();
     }
 
+    // a == 0
+    public boolean isZero() {
+        return num.signum() == 0;
+    }
+
+    // sgn(a - 1)
+    public int compareToOne() {
+        return num.compareTo(den);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj == null || obj.getClass() != this.getClass()) {
@@ -118,16 +255,75 @@ public class Rational implements Comparable<Rational> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(num, den);
+        int h = hash;
+        if (h == 0) {
+            h = Objects.hash(num, den);
+            hash = h;
+        }
+        return h;
+    }
+
+    // Relative error of the approximating doubles is a few ulps,
+    // this leaves a wide margin.
+    private static final double doubleFilterMargin = 0x1p-48;
+    // Longer integers are shifted before conversion to double.
+    private static final int doubleBits = 1000;
+
+    private static double shiftedDouble(BigInteger n, int shift) {
+        return shift == 0 ? n.doubleValue() : n.shiftRight(shift).doubleValue();
     }
 
+    // Compares without creating new Rationals. Cheap tests are tried first,
+    // the exact cross multiplication is only done when they can't decide.
     @Override
     public int compareTo(Rational x) {
-        return sub(x).signum();
+        int sign = num.signum();
+        if (sign != x.num.signum()) {
+            return sign < x.num.signum() ? -1 : 1;
+        }
+        if (sign == 0) {
+            return 0;
+        }
+        if (den.equals(x.den)) {
+            return num.compareTo(x.num);
+        }
+        // |num * x.den| has either bitLength(num) + bitLength(x.den) bits or one
+        // less, and bitLength of a negative number may be one less than of its
+        // magnitude. So a difference of 3 bits decides the order of magnitudes.
+        int bits = num.bitLength() + x.den.bitLength() - x.num.bitLength() - den.bitLength();
+        if (bits >= 3) {
+            return sign;
+        }
+        if (bits <= -3) {
+            return -sign;
+        }
+        // Both values are approximated by doubles within a relative error of
+        // a few ulps. Parts longer than doubleBits are shifted, so nothing
+        // overflows, and since magnitudes differ by at most 2^4 here, scaling
+        // one of the values doesn't either. So if the doubles are far enough
+        // apart, their order is the exact one.
+        int numShift = Math.max(0, num.bitLength() - doubleBits);
+        int denShift = Math.max(0, den.bitLength() - doubleBits);
+        int xNumShift = Math.max(0, x.num.bitLength() - doubleBits);
+        int xDenShift = Math.max(0, x.den.bitLength() - doubleBits);
+        double a = shiftedDouble(num, numShift) / shiftedDouble(den, denShift);
+        double b = Math.scalb(shiftedDouble(x.num, xNumShift) / shiftedDouble(x.den, xDenShift),
+                xNumShift - xDenShift - numShift + denShift);
+        if (Math.abs(a - b) > doubleFilterMargin * Math.max(Math.abs(a), Math.abs(b))) {
+            return a < b ? -1 : 1;
+        }
+        return num.multiply(x.den).compareTo(x.num.multiply(den));
     }
 
+    // Long numerators and denominators are shifted first, so a moderate
+    // quotient of huge integers doesn't become Inf/Inf.
     public double toDouble() {
-        return num.doubleValue() / den.doubleValue();
+        int numShift = Math.max(0, num.bitLength() - doubleBits);
+        int denShift = Math.max(0, den.bitLength() - doubleBits);
+        if (numShift == 0 && denShift == 0) {
+            return num.doubleValue() / den.doubleValue();
+        }
+        return Math.scalb(shiftedDouble(num, numShift) / shiftedDouble(den, denShift), numShift - denShift);
     }
 
     private String zeroPad(long width, String str) {
@@ -314,7 +510,7 @@ public class Rational implements Comparable<Rational> {
             if (!eof()) {
                 error("expected eof");
             }
-            return sign > 0 ? out : out.negate();
+            return canonical(sign > 0 ? out : out.negate());
         }
     }
 
@@ -0,0 +1,54 @@
+package interpolation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded cache of canonical Rational instances, so that values repeated
+// in large datasets share a single object. The cache is split into stripes
+// with their own locks and least recently used eviction, so that parallel
+// parsers rarely contend. Small values are served by Rational.valueOf's
+// table and don't take any space.
+public class RationalInterner {
+    private final LruCache<Rational, Rational> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public RationalInterner(int capacity) {
+        cache = new LruCache<>(capacity);
+    }
+
+    // Returns the cached instance equal to a, caching a if there is none.
+    public Rational intern(Rational a) {
+        // Also covers a being the table instance itself, e.g. from Rational.parse.
+        Rational small = Rational.shared(a);
+        if (small != null) {
+            hits.increment();
+            return small;
+        }
+        Rational cached = cache.putIfAbsent(a, a);
+        if (cached == null) {
+            misses.increment();
+            return a;
+        }
+        hits.increment();
+        return cached;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // Fraction of intern calls which returned an existing instance.
+    public double getHitRate() {
+        long h = getHits();
+        long total = h + getMisses();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,346 @@
+package interpolation;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+import java.util.zip.CRC32C;
+
+// Binary file with data points and their interpolation polynomial.
+//
+// Layout (big endian):
+//   header  32 bytes: magic "IPOL", version (u16), reserved (u16),
+//           number of points (i32), number of coefficients (i32),
+//           offset of the index (i64), CRC32C of the rest of the file (i32),
+//           reserved (i32)
+//   records x and y of every point, followed by the coefficients
+//   index   offset of every point and coefficient record (i64 each)
+//
+// A rational is stored as its numerator and denominator, each as a varint
+// (magnitude byte length << 1 | sign) followed by the big endian magnitude.
+//
+// The reader maps the file into memory and only decodes values on access,
+// so opening even large files is fast and nothing is parsed from text.
+public final class SessionFile {
+    private static final int magic = 0x49504f4c; // "IPOL"
+    private static final short version = 1;
+    private static final int headerSize = 32;
+    private static final int bufferSize = 1 << 16;
+
+    private final ByteBuffer data;
+    private final int pointCount;
+    private final int coeffCount;
+    private final int indexOffset;
+    // Decoded coefficients, filled on access. Rationals are immutable,
+    // so racing threads at worst decode the same value twice.
+    private final Rational[] coeffs;
+    private volatile Poly poly;
+
+    private SessionFile(ByteBuffer data, int pointCount, int coeffCount, int indexOffset) {
+        this.data = data;
+        this.pointCount = pointCount;
+        this.coeffCount = coeffCount;
+        this.indexOffset = indexOffset;
+        coeffs = new Rational[coeffCount];
+    }
+
+    // Writes the points and the polynomial. The file is replaced atomically
+    // where supported, so that readers of the old file aren't disturbed.
+    public static void write(Path file, List<Point> points, Poly poly) throws IOException {
+        write(file, points, poly, progress -> {});
+    }
+
+    // Same as above, but reports progress of writing the records (from 0 to 1).
+    public static void write(Path file, List<Point> points, Poly poly, DoubleConsumer progress)
+            throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Output out = new Output(channel);
+            long[] index = new long[points.size() + poly.degree() + 1];
+            int k = 0;
+            for (Point p : points) {
+                index[k++] = out.position();
+                out.writeRational(p.getX());
+                out.writeRational(p.getY());
+                Export.reportProgress(progress, k, index.length);
+            }
+            for (int i = 0; i <= poly.degree(); ++i) {
+                index[k++] = out.position();
+                out.writeRational(poly.get(i));
+                Export.reportProgress(progress, k, index.length);
+            }
+            long indexOffset = out.position();
+            for (long offset : index) {
+                out.writeLong(offset);
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(headerSize);
+            header.putInt(magic);
+            header.putShort(version);
+            header.putShort((short) 0);
+            header.putInt(points.size());
+            header.putInt(poly.degree() + 1);
+            header.putLong(indexOffset);
+            header.putInt((int) out.checksum());
+            header.putInt(0);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+        catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(tmp);
+            throw ex;
+        }
+        moveIntoPlace(tmp, file);
+        progress.accept(1.0);
+    }
+
+    // Replaces file with the completely written tmp.
+    static void moveIntoPlace(Path tmp, Path file) throws IOException {
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Opens the file and verifies its header and checksum.
+    // Throws IOException if the file is damaged or of an unsupported version.
+    public static SessionFile open(Path file) throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("File too large: " + channel.size() + " bytes");
+            }
+            // The mapping stays valid after the channel is closed.
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (data.capacity() < headerSize || data.getInt(0) != magic) {
+            throw new IOException("Not an interpolation file");
+        }
+        if (data.getShort(4) != version) {
+            throw new IOException("Unsupported file version " + data.getShort(4));
+        }
+        int pointCount = data.getInt(8);
+        int coeffCount = data.getInt(12);
+        long indexOffset = data.getLong(16);
+        if (pointCount < 0 || coeffCount < 0 || indexOffset < headerSize
+                || indexOffset + 8L * ((long) pointCount + coeffCount) != data.capacity()) {
+            throw new IOException("Damaged file header");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(data.slice(headerSize, data.capacity() - headerSize));
+        if ((int) crc.getValue() != data.getInt(24)) {
+            throw new IOException("Checksum mismatch");
+        }
+        return new SessionFile(data, pointCount, coeffCount, (int) indexOffset);
+    }
+
+    public int pointCount() {
+        return pointCount;
+    }
+
+    public int degree() {
+        return coeffCount - 1;
+    }
+
+    public Point getPoint(int i) {
+        checkIndex(i, pointCount);
+        Input in = new Input(data, recordOffset(i));
+        Rational x = in.readRational();
+        Rational y = in.readRational();
+        return new Point(x, y);
+    }
+
+    // Returns an unmodifiable list view of the points, which decodes them on access.
+    public List<Point> getPoints() {
+        return new AbstractList<Point>() {
+            @Override
+            public Point get(int i) {
+                return getPoint(i);
+            }
+
+            @Override
+            public int size() {
+                return pointCount;
+            }
+        };
+    }
+
+    // Returns ith coefficient of the polynomial, decoding it on first access.
+    public Rational getCoeff(int i) {
+        checkIndex(i, coeffCount);
+        Rational a = coeffs[i];
+        if (a == null) {
+            a = new Input(data, recordOffset(pointCount + i)).readRational();
+            coeffs[i] = a;
+        }
+        return a;
+    }
+
+    public Poly getPoly() {
+        Poly p = poly;
+        if (p == null) {
+            Rational[] as = new Rational[coeffCount];
+            for (int i = 0; i < coeffCount; ++i) {
+                as[i] = getCoeff(i);
+            }
+            p = new Poly(as);
+            poly = p;
+        }
+        return p;
+    }
+
+    // Returns the stored interpolation without recomputing it.
+    public Interpolation getInterpolation() {
+        return new Interpolation(getPoints(), getPoly());
+    }
+
+    private int recordOffset(int k) {
+        long offset = data.getLong(indexOffset + 8 * k);
+        if (offset < headerSize || offset >= indexOffset) {
+            throw new IllegalStateException("Damaged index entry " + k);
+        }
+        return (int) offset;
+    }
+
+    private static void checkIndex(int i, int size) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index " + i + " out of bounds for size " + size);
+        }
+    }
+
+    // Decodes values starting at a given offset of the mapped file.
+    private static class Input {
+        private final ByteBuffer data;
+        private int position;
+
+        Input(ByteBuffer data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                byte b = data.get(position++);
+                value |= (long) (b & 0x7f) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Damaged varint at " + position);
+        }
+
+        private BigInteger readInteger() {
+            long header = readVarint();
+            int length = (int) (header >>> 1);
+            if (length < 0 || length > data.capacity() - position) {
+                throw new IllegalStateException("Damaged integer at " + position);
+            }
+            byte[] magnitude = new byte[length];
+            data.get(position, magnitude);
+            position += length;
+            return new BigInteger((header & 1) == 0 ? 1 : -1, magnitude);
+        }
+
+        // The checksum only detects accidental damage, so values are checked
+        // to be in canonical form, which equals, hashCode and compareTo rely on.
+        Rational readRational() {
+            int start = position;
+            BigInteger p = readInteger();
+            BigInteger q = readInteger();
+            if (q.signum() <= 0 || !p.gcd(q).equals(BigInteger.ONE)) {
+                throw new IllegalStateException("Damaged rational at " + start);
+            }
+            return Rational.ofReduced(p, q);
+        }
+    }
+
+    // Buffered writing to a channel, which keeps track of the position and checksum.
+    private static class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+        private final CRC32C crc = new CRC32C();
+        private long position = headerSize;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        long position() {
+            return position;
+        }
+
+        long checksum() {
+            return crc.getValue();
+        }
+
+        private void ensure(int n) throws IOException {
+            if (buffer.remaining() < n) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            long offset = position - buffer.remaining();
+            while (buffer.hasRemaining()) {
+                offset += channel.write(buffer, offset);
+            }
+            buffer.clear();
+        }
+
+        private void writeVarint(long value) throws IOException {
+            ensure(10);
+            while ((value & ~0x7fL) != 0) {
+                buffer.put((byte) ((value & 0x7f) | 0x80));
+                value >>>= 7;
+                ++position;
+            }
+            buffer.put((byte) value);
+            ++position;
+        }
+
+        void writeLong(long value) throws IOException {
+            ensure(8);
+            buffer.putLong(value);
+            position += 8;
+        }
+
+        private void writeInteger(BigInteger n) throws IOException {
+            byte[] bytes = n.abs().toByteArray();
+            // toByteArray() adds a sign byte, which the magnitude doesn't need.
+            int skip = bytes[0] == 0 ? 1 : 0;
+            int length = bytes.length - skip;
+            writeVarint(((long) length << 1) | (n.signum() < 0 ? 1 : 0));
+            for (int off = skip; off < bytes.length; ) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                int chunk = Math.min(buffer.remaining(), bytes.length - off);
+                buffer.put(bytes, off, chunk);
+                off += chunk;
+                position += chunk;
+            }
+        }
+
+        void writeRational(Rational a) throws IOException {
+            writeInteger(a.getNum());
+            writeInteger(a.getDen());
+        }
+    }
+}
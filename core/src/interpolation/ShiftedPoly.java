@@ -0,0 +1,148 @@
+package interpolation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Polynomial in a shifted and scaled variable, P(x) = Q((x - c) / s).
+// When nodes are far from zero, coefficients of Q stay small while the
+// monomial coefficients of P explode, so evaluation is much cheaper in this
+// form. The monomial form is only computed when requested, using a
+// divide-and-conquer Taylor shift which benefits from fast multiplication.
+public class ShiftedPoly {
+    // Ranges shorter than this are shifted with Horner's scheme.
+    private static final int hornerThreshold = 16;
+
+    private final Poly poly;
+    private final Rational center;
+    private final Rational scale;
+    private volatile Poly expanded;
+
+    // P(x) = Q((x - center) / scale), where Q is poly.
+    public ShiftedPoly(Poly poly, Rational center, Rational scale) {
+        if (scale.isZero()) {
+            throw new IllegalArgumentException("Scale can't be 0");
+        }
+        this.poly = poly;
+        this.center = center;
+        this.scale = scale;
+    }
+
+    // Monomial form, i.e. center 0 and scale 1.
+    public ShiftedPoly(Poly poly) {
+        this(poly, Rational.valueOf(0), Rational.valueOf(1));
+        expanded = poly;
+    }
+
+    // Converts a polynomial in monomial form to the given basis.
+    public static ShiftedPoly of(Poly p, Rational center, Rational scale) {
+        // Q(t) = P(s*t + c)
+        Poly shifted = taylorShift(p, center);
+        Rational[] coeffs = new Rational[shifted.degree() + 1];
+        Rational power = Rational.valueOf(1);
+        for (int i = 0; i < coeffs.length; ++i) {
+            coeffs[i] = shifted.get(i).mul(power);
+            power = power.mul(scale);
+        }
+        ShiftedPoly result = new ShiftedPoly(new Poly(coeffs), center, scale);
+        result.expanded = p;
+        return result;
+    }
+
+    // Returns Q, i.e. the polynomial in t = (x - c) / s.
+    public Poly getPoly() {
+        return poly;
+    }
+
+    public Rational getCenter() {
+        return center;
+    }
+
+    public Rational getScale() {
+        return scale;
+    }
+
+    public int degree() {
+        return poly.degree();
+    }
+
+    // Returns t = (x - c) / s.
+    public Rational toBasis(Rational x) {
+        return x.sub(center).div(scale);
+    }
+
+    // P(x)
+    public Rational eval(Rational x) {
+        return poly.eval(toBasis(x));
+    }
+
+    // Returns P in monomial form. It's computed on the first call.
+    public Poly expand() {
+        Poly p = expanded;
+        if (p == null) {
+            // P(x) = Q1(x - c), where Q1(u) = Q(u / s)
+            Rational[] coeffs = new Rational[poly.degree() + 1];
+            Rational inverse = scale.invert();
+            Rational power = Rational.valueOf(1);
+            for (int i = 0; i < coeffs.length; ++i) {
+                coeffs[i] = poly.get(i).mul(power);
+                power = power.mul(inverse);
+            }
+            p = taylorShift(new Poly(coeffs), center.negate());
+            expanded = p;
+        }
+        return p;
+    }
+
+    // Returns P(x + a).
+    // P is split as P0(x) + x^m P1(x), where m is a power of two, so that
+    // P(x + a) = P0(x + a) + (x + a)^m P1(x + a). The powers (x + a)^(2^k)
+    // are computed once by repeated squaring.
+    public static Poly taylorShift(Poly p, Rational a) {
+        int n = p.degree() + 1;
+        if (n <= 1 || a.isZero()) {
+            return p;
+        }
+        List<Poly> powers = new ArrayList<>();
+        powers.add(new Poly(a, Rational.valueOf(1)));
+        while ((1 << powers.size()) < n) {
+            Poly last = powers.get(powers.size() - 1);
+            powers.add(last.mul(last));
+        }
+        Rational[] coeffs = new Rational[n];
+        for (int i = 0; i < n; ++i) {
+            coeffs[i] = p.get(i);
+        }
+        return taylorShift(coeffs, 0, n, a, powers);
+    }
+
+    // Shifts the polynomial with coefficients coeffs[from], ..., coeffs[from+len-1].
+    private static Poly taylorShift(Rational[] coeffs, int from, int len, Rational a, List<Poly> powers) {
+        if (len <= hornerThreshold) {
+            return hornerShift(coeffs, from, len, a);
+        }
+        int k = 0;
+        while ((2 << k) < len) {
+            ++k;
+        }
+        int m = 1 << k;
+        Poly low = taylorShift(coeffs, from, m, a, powers);
+        Poly high = taylorShift(coeffs, from + m, len - m, a, powers);
+        return low.add(powers.get(k).mul(high));
+    }
+
+    // Horner's scheme, where multiplying by (x + a) takes linear time.
+    private static Poly hornerShift(Rational[] coeffs, int from, int len, Rational a) {
+        Rational[] out = new Rational[len];
+        for (int i = 0; i < len; ++i) {
+            out[i] = Rational.valueOf(0);
+        }
+        for (int i = len - 1; i >= 0; --i) {
+            // out = out * (x + a) + coeffs[from + i], where deg out < len - 1 - i
+            for (int j = len - 1 - i; j > 0; --j) {
+                out[j] = out[j - 1].add(a.mul(out[j]));
+            }
+            out[0] = coeffs[from + i].add(a.mul(out[0]));
+        }
+        return new Poly(out);
+    }
+}
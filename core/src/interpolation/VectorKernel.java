@@ -0,0 +1,37 @@
+package interpolation;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+// Batch Horner evaluation across Vector API lanes.
+// This class must only be loaded through DoubleEvaluator, which
+// handles the case when the incubator module is missing.
+class VectorKernel implements DoubleEvaluator.Kernel {
+    private static final VectorSpecies<Double> species = DoubleVector.SPECIES_PREFERRED;
+
+    int lanes() {
+        return species.length();
+    }
+
+    @Override
+    public void eval(double[] coeffs, double[] xs, double[] ys, int from, int to) {
+        int i = from;
+        int bound = from + species.loopBound(to - from);
+        for (; i < bound; i += species.length()) {
+            DoubleVector x = DoubleVector.fromArray(species, xs, i);
+            DoubleVector y = DoubleVector.zero(species);
+            for (int k = coeffs.length - 1; k >= 0; --k) {
+                y = y.mul(x).add(coeffs[k]);
+            }
+            y.intoArray(ys, i);
+        }
+        // Remaining tail that doesn't fill a whole vector.
+        for (; i < to; ++i) {
+            double y = 0.0;
+            for (int k = coeffs.length - 1; k >= 0; --k) {
+                y = y * xs[i] + coeffs[k];
+            }
+            ys[i] = y;
+        }
+    }
+}
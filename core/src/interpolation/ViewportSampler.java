@@ -0,0 +1,168 @@
+package interpolation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+
+// Samples visible ranges of a polynomial for plotting.
+// The x axis is split into tiles whose width is a power of two chosen from the
+// viewport width, so that every zoom level has its own tile grid. Tiles are
+// sampled independently and kept in a bounded LRU cache, which makes returning
+// to an already visited range instant. This class is thread-safe.
+//
+// All tiles of a viewport are refined with the same y scale, estimated from
+// a grid over the whole viewport, so the tolerance is in display pixels
+// wherever the tile boundaries fall. The scale is rounded up to a power of
+// two, which keeps tiles cached while panning changes it slightly.
+public class ViewportSampler {
+    // Grid points per tile used to estimate the y range of a viewport.
+    private static final int scaleSamplesPerTile = 8;
+
+    private final DoubleEvaluator f;
+    private final AdaptiveSampler sampler;
+    private final int tilesPerView;
+    private final Map<TileKey, AdaptiveSampler.Samples> cache;
+
+    private static class TileKey {
+        private final int level;
+        private final int scaleLevel;
+        private final long index;
+
+        private TileKey(int level, int scaleLevel, long index) {
+            this.level = level;
+            this.scaleLevel = scaleLevel;
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == null || obj.getClass() != getClass()) {
+                return false;
+            }
+            TileKey other = (TileKey)obj;
+            return level == other.level && scaleLevel == other.scaleLevel && index == other.index;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(level, scaleLevel, index);
+        }
+    }
+
+    // Constructs a sampler of f, which splits each viewport into about
+    // tilesPerView tiles and caches at most maxTiles of them.
+    public ViewportSampler(DoubleEvaluator f, AdaptiveSampler sampler, int tilesPerView, int maxTiles) {
+        this.f = f;
+        this.sampler = sampler;
+        this.tilesPerView = tilesPerView;
+        cache = Collections.synchronizedMap(new LinkedHashMap<TileKey, AdaptiveSampler.Samples>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TileKey, AdaptiveSampler.Samples> eldest) {
+                return size() > maxTiles;
+            }
+        });
+    }
+
+    // Returns samples covering [lower, upper], displayed in an area of the
+    // given height (in pixels), if all of them are already cached, null otherwise.
+    public AdaptiveSampler.Samples cached(double lower, double upper, double height) {
+        List<AdaptiveSampler.Samples> tiles = new ArrayList<>();
+        int level = level(lower, upper);
+        int scaleLevel = scaleLevel(lower, upper, height);
+        for (long i = first(lower, level); i <= last(upper, level); ++i) {
+            AdaptiveSampler.Samples tile = cache.get(new TileKey(level, scaleLevel, i));
+            if (tile == null) {
+                return null;
+            }
+            tiles.add(tile);
+        }
+        return concat(tiles);
+    }
+
+    // Returns samples covering [lower, upper], which is displayed in an area
+    // of the given width and height (in pixels). Missing tiles are computed.
+    // Throws CancellationException if the current thread gets interrupted.
+    public AdaptiveSampler.Samples sample(double lower, double upper, double width, double height) {
+        List<AdaptiveSampler.Samples> tiles = new ArrayList<>();
+        int level = level(lower, upper);
+        int scaleLevel = scaleLevel(lower, upper, height);
+        double yScale = Math.scalb(1.0, scaleLevel);
+        double tileWidth = Math.scalb(1.0, level);
+        double tilePixels = width * tileWidth / (upper - lower);
+        for (long i = first(lower, level); i <= last(upper, level); ++i) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Sampling interrupted");
+            }
+            TileKey key = new TileKey(level, scaleLevel, i);
+            AdaptiveSampler.Samples tile = cache.get(key);
+            if (tile == null) {
+                tile = sampler.sampleScaled(f, i * tileWidth, (i + 1) * tileWidth, tilePixels, yScale);
+                cache.put(key, tile);
+            }
+            tiles.add(tile);
+        }
+        return concat(tiles);
+    }
+
+    // Pixels per unit of y, rounded up to 2^scaleLevel, where the y range
+    // is estimated from a uniform grid over [lower, upper].
+    private int scaleLevel(double lower, double upper, double height) {
+        int n = tilesPerView * scaleSamplesPerTile + 1;
+        double[] xs = new double[n];
+        for (int i = 0; i < n; ++i) {
+            xs[i] = lower + (upper - lower) * i / (n - 1);
+        }
+        double yMin = Double.POSITIVE_INFINITY;
+        double yMax = Double.NEGATIVE_INFINITY;
+        for (double y : f.eval(xs)) {
+            if (Double.isFinite(y)) {
+                yMin = Math.min(yMin, y);
+                yMax = Math.max(yMax, y);
+            }
+        }
+        // A flat range needs no refinement, the smallest scale gives none.
+        if (!(yMax > yMin)) {
+            return Double.MIN_EXPONENT;
+        }
+        double yScale = height / (yMax - yMin);
+        return Math.max(Double.MIN_EXPONENT, Math.min(Double.MAX_EXPONENT, Math.getExponent(yScale) + 1));
+    }
+
+    // Tile width is 2^level.
+    private int level(double lower, double upper) {
+        return Math.getExponent((upper - lower) / tilesPerView);
+    }
+
+    private static long first(double lower, int level) {
+        return (long) Math.floor(Math.scalb(lower, -level));
+    }
+
+    private static long last(double upper, int level) {
+        return (long) Math.ceil(Math.scalb(upper, -level)) - 1;
+    }
+
+    // Joins adjacent tiles, dropping the shared boundary samples.
+    private static AdaptiveSampler.Samples concat(List<AdaptiveSampler.Samples> tiles) {
+        int n = 0;
+        for (AdaptiveSampler.Samples t : tiles) {
+            n += t.size();
+        }
+        n -= Math.max(0, tiles.size() - 1);
+        double[] xs = new double[Math.max(n, 0)];
+        double[] ys = new double[xs.length];
+        int out = 0;
+        for (int k = 0; k < tiles.size(); ++k) {
+            AdaptiveSampler.Samples t = tiles.get(k);
+            for (int i = k == 0 ? 0 : 1; i < t.size(); ++i) {
+                xs[out] = t.getX(i);
+                ys[out] = t.getY(i);
+                ++out;
+            }
+        }
+        return new AdaptiveSampler.Samples(xs, ys);
+    }
+}
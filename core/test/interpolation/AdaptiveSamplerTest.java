@@ -0,0 +1,60 @@
+package interpolation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveSamplerTest {
+    private void assertOrdered(AdaptiveSampler.Samples s, double start, double stop) {
+        assertEquals(start, s.getX(0), "first sample");
+        assertEquals(stop, s.getX(s.size() - 1), "last sample");
+        for (int i = 1; i < s.size(); ++i) {
+            assertTrue(s.getX(i-1) < s.getX(i), "samples ordered at " + i);
+        }
+    }
+
+    @Test
+    public void testLinear() {
+        AdaptiveSampler sampler = new AdaptiveSampler(5, 1000, 0.5);
+        DoubleEvaluator f = new DoubleEvaluator(new Poly(new Rational(1), new Rational(2)));
+        AdaptiveSampler.Samples s = sampler.sample(f, -3.0, 7.0, 800, 600);
+        assertEquals(5, s.size(), "straight line is not refined");
+        assertOrdered(s, -3.0, 7.0);
+        for (int i = 0; i < s.size(); ++i) {
+            assertEquals(1.0 + 2.0 * s.getX(i), s.getY(i), 1e-12, "sample " + i);
+        }
+    }
+
+    @Test
+    public void testCurved() {
+        AdaptiveSampler sampler = new AdaptiveSampler(5, 1000, 0.5);
+        // x^4 - 5x^2 + 4
+        DoubleEvaluator f = new DoubleEvaluator(new Poly(
+                new Rational(4), new Rational(0), new Rational(-5), new Rational(0), new Rational(1)));
+        AdaptiveSampler.Samples s = sampler.sample(f, -3.0, 3.0, 800, 600);
+        assertTrue(s.size() > 5, "curve is refined");
+        assertTrue(s.size() <= 1000, "sample limit");
+        assertOrdered(s, -3.0, 3.0);
+        for (int i = 0; i < s.size(); ++i) {
+            assertEquals(f.eval(s.getX(i)), s.getY(i), 0.0, "sample " + i);
+        }
+    }
+
+    @Test
+    public void testLimit() {
+        AdaptiveSampler sampler = new AdaptiveSampler(3, 20, 0.01);
+        DoubleEvaluator f = new DoubleEvaluator(new Poly(
+                new Rational(0), new Rational(0), new Rational(0), new Rational(0), new Rational(0),
+                new Rational(0), new Rational(0), new Rational(0), new Rational(0), new Rational(1)));
+        AdaptiveSampler.Samples s = sampler.sample(f, -1.0, 1.0, 10000, 10000);
+        assertTrue(s.size() <= 20, "sample limit");
+        assertOrdered(s, -1.0, 1.0);
+    }
+
+    @Test
+    public void testInvalidArgs() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveSampler(1, 10, 0.5),
+                "too few initial samples");
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveSampler(10, 5, 0.5),
+                "limit below initial samples");
+    }
+}
@@ -0,0 +1,83 @@
+package interpolation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class DoubleEvaluatorTest {
+    private final Poly poly = new Poly(
+            new Rational(1, 2),
+            new Rational(-3),
+            new Rational(0),
+            new Rational(5, 4),
+            new Rational(-1, 8)
+    );
+
+    private double[] grid(int n) {
+        double[] xs = new double[n];
+        for (int i = 0; i < n; ++i) {
+            xs[i] = -4.0 + 8.0 * i / n;
+        }
+        return xs;
+    }
+
+    private double[] expected(double[] xs) {
+        double[] ys = new double[xs.length];
+        for (int i = 0; i < xs.length; ++i) {
+            ys[i] = poly.eval(Rational.parse(Double.toString(xs[i]))).toDouble();
+        }
+        return ys;
+    }
+
+    @Test
+    public void testSnapshot() {
+        DoubleEvaluator ev = new DoubleEvaluator(poly);
+        assertArrayEquals(new double[] {0.5, -3.0, 0.0, 1.25, -0.125}, ev.getCoeffs(), 0.0,
+                "coefficient snapshot");
+    }
+
+    @Test
+    public void testEvalZero() {
+        DoubleEvaluator ev = new DoubleEvaluator(new Poly());
+        assertEquals(0.0, ev.eval(13.0), "zero poly");
+    }
+
+    @Test
+    public void testEvalSingle() {
+        DoubleEvaluator ev = new DoubleEvaluator(poly);
+        assertEquals(poly.eval(new Rational(3, 2)).toDouble(), ev.eval(1.5), 1e-12, "P(1.5)");
+    }
+
+    @Test
+    public void testEvalBatch() {
+        // Odd length to exercise the scalar tail of the vectorized loop.
+        double[] xs = grid(1001);
+        double[] ys = new DoubleEvaluator(poly).eval(xs);
+        assertArrayEquals(expected(xs), ys, 1e-9, "batch evaluation");
+    }
+
+    @Test
+    public void testEvalParallel() {
+        double[] xs = grid(200003);
+        double[] ys = new double[xs.length];
+        DoubleEvaluator ev = new DoubleEvaluator(poly);
+        ev.evalParallel(xs, ys);
+        assertArrayEquals(ev.eval(xs), ys, 0.0, "parallel evaluation");
+    }
+
+    @Test
+    public void testScalarKernel() {
+        double[] xs = grid(101);
+        double[] ys = new double[xs.length];
+        new DoubleEvaluator.ScalarKernel().eval(
+                new DoubleEvaluator(poly).getCoeffs(), xs, ys, 0, xs.length);
+        assertArrayEquals(expected(xs), ys, 1e-9, "scalar kernel");
+    }
+
+    @Test
+    public void testShortOutput() {
+        DoubleEvaluator ev = new DoubleEvaluator(poly);
+        assertThrows(IllegalArgumentException.class,
+                () -> ev.eval(new double[4], new double[3]),
+                "output shorter than input");
+    }
+}
@@ -0,0 +1,96 @@
+package interpolation;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class EventsTest {
+    private static List<RecordedEvent> record(String name, Runnable action) throws Exception {
+        Path file = Files.createTempFile("interpolation", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(name);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (event.getEventType().getName().equals(name)) {
+                    events.add(event);
+                }
+            }
+            return events;
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testInterpolationEvent() throws Exception {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 5; ++i) {
+            points.add(new Point(new Rational(i), new Rational(i * i, 3)));
+        }
+        List<RecordedEvent> events = record("interpolation.Interpolation",
+                () -> new Interpolation(points).getShifted());
+        assertEquals(1, events.size(), "number of events");
+        RecordedEvent event = events.get(0);
+        assertEquals(5, event.getInt("points"), "points");
+        assertEquals(2, event.getInt("degree"), "degree");
+        // Computed as (t^2 + 4t + 4)/3, where x = t + 2
+        assertEquals(3, event.getInt("maxCoeffBits"), "coefficient bits");
+    }
+
+    @Test
+    public void testPolyThresholds() throws Exception {
+        Rational[] small = new Rational[Events.polyThreshold / 2];
+        Rational[] large = new Rational[Events.polyThreshold];
+        for (int i = 0; i < large.length; ++i) {
+            large[i] = new Rational(i + 1);
+        }
+        for (int i = 0; i < small.length; ++i) {
+            small[i] = new Rational(i + 1);
+        }
+        Poly p = new Poly(small);
+        Poly q = new Poly(large);
+        List<RecordedEvent> muls = record("interpolation.PolyMul", () -> {
+            p.mul(p);
+            p.mul(q);
+        });
+        assertEquals(1, muls.size(), "only the large product is recorded");
+        assertEquals(p.degree(), muls.get(0).getInt("leftDegree"), "left degree");
+        assertEquals(q.degree(), muls.get(0).getInt("rightDegree"), "right degree");
+
+        DoubleEvaluator f = new DoubleEvaluator(p);
+        List<RecordedEvent> evals = record("interpolation.PolyEval", () -> {
+            f.eval(new double[Events.batchThreshold - 1]);
+            f.eval(new double[Events.batchThreshold]);
+        });
+        assertEquals(1, evals.size(), "only the large batch is recorded");
+        assertEquals(Events.batchThreshold, evals.get(0).getInt("points"), "points");
+        assertFalse(evals.get(0).getBoolean("exact"), "floating point evaluation");
+    }
+
+    @Test
+    public void testSettingsFile() throws Exception {
+        // Tests run in the module directory.
+        Path settings = Paths.get("../jfr/interpolation.jfc");
+        if (!Files.exists(settings)) {
+            settings = Paths.get("jfr/interpolation.jfc");
+        }
+        Configuration config = Configuration.create(settings);
+        assertEquals("true", config.getSettings().get("interpolation.Interpolation#enabled"), "enabled");
+        assertEquals("true", config.getSettings().get("interpolation.ChartRedraw#enabled"), "gui events");
+    }
+}
@@ -0,0 +1,123 @@
+package interpolation;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ExportTest {
+    private Path dir;
+    private Path file;
+
+    @BeforeEach
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("export");
+        file = dir.resolve("export.txt");
+    }
+
+    @AfterEach
+    public void deleteDir() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    private List<String> lines() throws IOException {
+        return Files.readAllLines(file, StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void testCoefficients() throws IOException {
+        // The numerator is longer than the output buffer.
+        BigInteger huge = BigInteger.valueOf(7).pow(100000);
+        Poly p = new Poly(new Rational(1, 3), new Rational(0), new Rational(huge.negate()));
+        List<Double> progress = new ArrayList<>();
+        Export.coefficients(file, p, progress::add);
+        List<String> lines = lines();
+        assertEquals(3, lines.size(), "lines");
+        assertEquals("1/3", lines.get(0), "a0");
+        assertEquals("0", lines.get(1), "a1");
+        assertEquals("-" + huge, lines.get(2), "a2");
+        for (int i = 0; i < lines.size(); ++i) {
+            assertEquals(p.get(i), Rational.parse(lines.get(i)), "parsed a" + i);
+        }
+        assertEquals(1.0, progress.get(progress.size() - 1), "complete");
+        assertFalse(Files.exists(dir.resolve("export.txt.tmp")), "temporary file removed");
+    }
+
+    @Test
+    public void testEvaluationsExact() throws IOException {
+        Poly p = new Poly(new Rational(1), new Rational(0), new Rational(1, 2));
+        Export.evaluations(file, new ShiftedPoly(p), new Rational(-1), new Rational(1), 5, true, x -> {});
+        List<String> lines = lines();
+        assertEquals(5, lines.size(), "rows");
+        assertEquals("-1\t3/2", lines.get(0), "first row");
+        assertEquals("-1/2\t9/8", lines.get(1), "second row");
+        assertEquals("1\t3/2", lines.get(4), "last row");
+    }
+
+    @Test
+    public void testEvaluationsDouble() throws IOException {
+        Poly p = new Poly(new Rational(0), new Rational(2));
+        int count = 100001;
+        List<Double> progress = new ArrayList<>();
+        Export.evaluations(file, new ShiftedPoly(p), new Rational(0), new Rational(10), count, false, progress::add);
+        List<String> lines = lines();
+        assertEquals(count, lines.size(), "rows");
+        for (int i = 0; i < count; i += 997) {
+            String[] row = lines.get(i).split("\t");
+            double x = Double.parseDouble(row[0]);
+            assertEquals(10.0 * i / (count - 1), x, 1e-12, "x" + i);
+            assertEquals(2 * x, Double.parseDouble(row[1]), 1e-12, "y" + i);
+        }
+        assertEquals("10.0\t20.0", lines.get(count - 1), "last row");
+        for (int i = 1; i < progress.size(); ++i) {
+            assertTrue(progress.get(i - 1) <= progress.get(i), "progress increases");
+        }
+        assertTrue(progress.size() >= 100, "progress reported every percent");
+        assertEquals(1.0, progress.get(progress.size() - 1), "complete");
+    }
+
+    @Test
+    public void testEvaluationsSinglePoint() throws IOException {
+        Poly p = new Poly(new Rational(5));
+        Export.evaluations(file, new ShiftedPoly(p), new Rational(3), new Rational(3), 1, false, x -> {});
+        assertEquals(List.of("3.0\t5.0"), lines(), "single row");
+        assertThrows(IllegalArgumentException.class, () ->
+                Export.evaluations(file, new ShiftedPoly(p), new Rational(0), new Rational(1), 0, true, x -> {}),
+                "no points");
+    }
+
+    @Test
+    public void testSamples() throws IOException {
+        AdaptiveSampler.Samples samples = new AdaptiveSampler.Samples(
+                new double[] { -1.0, 0.5, 2.0 }, new double[] { 1.0, Double.NaN, 4.0 });
+        Export.samples(file, samples, x -> {});
+        assertEquals(List.of("-1.0\t1.0", "0.5\tNaN", "2.0\t4.0"), lines(), "rows");
+    }
+
+    @Test
+    public void testCancelled() throws IOException {
+        Poly p = new Poly(new Rational(1), new Rational(1));
+        Files.writeString(file, "old");
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () ->
+                    Export.evaluations(file, new ShiftedPoly(p), new Rational(0), new Rational(1), 10, false, x -> {}),
+                    "interrupted export");
+        }
+        finally {
+            Thread.interrupted();
+        }
+        assertEquals("old", Files.readString(file), "target untouched");
+        assertFalse(Files.exists(dir.resolve("export.txt.tmp")), "temporary file removed");
+    }
+}
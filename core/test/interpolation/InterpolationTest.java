@@ -0,0 +1,171 @@
+package interpolation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class InterpolationTest {
+    @Test
+    public void testGetPoints() {
+        List<Point> expected = Arrays.asList(
+                new Point(new Rational(1), new Rational(0)),
+                new Point(new Rational(2), new Rational(2)),
+                new Point(new Rational(4), new Rational(12)),
+                new Point(new Rational(5), new Rational(20))
+        );
+        Interpolation interp = new Interpolation(expected);
+        assertIterableEquals(expected, interp.getPoints(), "points getter");
+    }
+
+    private void testInterpolation(List<Point> points) {
+        Interpolation interp = new Interpolation(points);
+        Poly poly = interp.getResult();
+        String comment = " (input = " + points + ", poly = " + poly + ")";
+        assertTrue(poly.degree() < points.size(),
+                "degree < number of data points" + comment);
+        ArrayList<Point> actual = new ArrayList<>();
+        for (Point p : points) {
+            Rational x = p.getX();
+            Rational y = poly.eval(x);
+            actual.add(new Point(x, y));
+        }
+        assertIterableEquals(points, actual,
+            "calculated values in nodes" + comment);
+    }
+
+    @Test
+    public void testZero() {
+        List<Point> points = Arrays.asList();
+        testInterpolation(points);
+    }
+
+    @Test
+    public void testOne() {
+        List<Point> points = Arrays.asList(new Point(new Rational(1), new Rational(13)));
+        testInterpolation(points);
+    }
+
+    @Test
+    public void testThree() {
+        List<Point> points = Arrays.asList(
+            new Point(new Rational(1), new Rational(1, 3)),
+            new Point(new Rational(2), new Rational(2, 3)),
+            new Point(new Rational(3), new Rational(5, 6))
+        );
+        testInterpolation(points);
+    }
+
+    @Test
+    public void testFour() {
+        List<Point> points = Arrays.asList(
+            new Point(new Rational(1), new Rational(0)),
+            new Point(new Rational(2), new Rational(2)),
+            new Point(new Rational(4), new Rational(12)),
+            new Point(new Rational(5), new Rational(20))
+        );
+    }
+
+    @Test
+    public void testInvalidNodes() {
+        List<Point> points = Arrays.asList(
+            new Point(new Rational(1), new Rational(0)),
+            new Point(new Rational(5), new Rational(2)),
+            new Point(new Rational(4), new Rational(12)),
+            new Point(new Rational(5), new Rational(20))
+        );
+        Interpolation interp = new Interpolation(points);
+        assertIterableEquals(points, interp.getPoints(), "points are available before validation");
+        assertThrows(IllegalArgumentException.class, interp::getResult,
+                "interpolating data with duplicate node");
+        assertThrows(IllegalArgumentException.class, () -> interp.eval(new Rational(2)),
+                "evaluating with duplicate node");
+    }
+
+    @Test
+    public void testFractionalNodesInDoubles() {
+        // Fractions with unrelated denominators have a tiny common step.
+        Random random = new Random(5);
+        for (int n : new int[] { 10, 20 }) {
+            List<Point> points = new ArrayList<>();
+            for (int i = 0; i < n; ++i) {
+                Rational x = new Rational(i).add(new Rational(random.nextInt(1000), 1001 + random.nextInt(999)));
+                points.add(new Point(x, new Rational(random.nextInt(2001) - 1000, 1 + random.nextInt(100))));
+            }
+            DoubleEvaluator f = new DoubleEvaluator(new Interpolation(points).getShifted());
+            for (Point p : points) {
+                double y = p.getY().toDouble();
+                assertEquals(y, f.eval(p.getX().toDouble()), 1e-6 * Math.max(1.0, Math.abs(y)),
+                        "value at node " + p.getX() + " of " + n);
+            }
+        }
+    }
+
+    @Test
+    public void testRestoredBasis() {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 12; ++i) {
+            points.add(new Point(new Rational(1_000_000 + 60 * i), new Rational(i * i % 7 - 3)));
+        }
+        Interpolation computed = new Interpolation(points);
+        Poly poly = computed.getResult();
+        Interpolation restored = new Interpolation(points, poly);
+        assertSame(poly, restored.getResult(), "monomial form kept");
+        assertEquals(computed.eval(new Rational(1_000_030)), restored.eval(new Rational(1_000_030)), "value");
+        ShiftedPoly shifted = restored.getShifted();
+        assertEquals(computed.getShifted().getCenter(), shifted.getCenter(), "center");
+        assertEquals(computed.getShifted().getScale(), shifted.getScale(), "scale");
+        assertEquals(computed.getShifted().getPoly(), shifted.getPoly(), "polynomial in the shifted basis");
+    }
+
+    @Test
+    public void testLazyStages() {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 20; ++i) {
+            points.add(new Point(new Rational(3 * i + 1, 2), new Rational(i * i - 7, i + 1)));
+        }
+        List<Double> progress = new ArrayList<>();
+        Interpolation interp = new Interpolation(points, progress::add);
+        assertTrue(progress.isEmpty(), "nothing computed on construction");
+        Rational x = new Rational(-5, 3);
+        Rational expected = new Interpolation(points).getResult().eval(x);
+        assertEquals(expected, interp.eval(x), "value in Newton form");
+        assertEquals(0.5, progress.get(progress.size() - 1), 1e-9, "only divided differences computed");
+        ShiftedPoly shifted = interp.getShifted();
+        assertEquals(1.0, progress.get(progress.size() - 1), 1e-9, "polynomial computed");
+        assertSame(shifted, interp.getShifted(), "polynomial computed once");
+        assertEquals(expected, interp.eval(x), "value of the polynomial");
+    }
+
+    @Test
+    public void testConcurrentStages() throws Exception {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 60; ++i) {
+            points.add(new Point(new Rational(i), new Rational(i % 7 - 3, i % 5 + 1)));
+        }
+        AtomicInteger steps = new AtomicInteger();
+        Interpolation interp = new Interpolation(points, p -> steps.incrementAndGet());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ShiftedPoly>> results = new ArrayList<>();
+            for (int i = 0; i < 8; ++i) {
+                results.add(executor.submit(interp::getShifted));
+            }
+            for (Future<ShiftedPoly> result : results) {
+                assertSame(interp.getShifted(), result.get(), "shared polynomial");
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+        // 59 columns of divided differences and 60 expansion steps.
+        assertEquals(119, steps.get(), "stages computed once");
+    }
+}
@@ -0,0 +1,89 @@
+package interpolation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class InterpolationWorkerTest {
+    private List<Point> points(int n) {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < n; ++i) {
+            points.add(new Point(new Rational(i, 3), new Rational(i * i - 7, i + 1)));
+        }
+        return points;
+    }
+
+    @Test
+    public void testResult() throws InterruptedException {
+        BlockingQueue<Interpolation> results = new LinkedBlockingQueue<>();
+        List<Double> progress = new ArrayList<>();
+        InterpolationWorker worker = new InterpolationWorker(Runnable::run, results::add, progress::add);
+        List<Point> points = points(20);
+        worker.submit(points);
+        Interpolation result = results.poll(10, TimeUnit.SECONDS);
+        assertNotNull(result, "result published");
+        assertEquals(new Interpolation(points).getResult(), result.getResult(), "result");
+        assertEquals(1.0, progress.get(progress.size() - 1), "final progress");
+        worker.shutdown();
+    }
+
+    @Test
+    public void testLatestWins() throws InterruptedException {
+        // Published actions are run only after all submissions,
+        // just like Platform.runLater does when the FX thread is busy.
+        BlockingQueue<Runnable> published = new LinkedBlockingQueue<>();
+        List<Interpolation> results = new ArrayList<>();
+        InterpolationWorker worker = new InterpolationWorker(published::add, results::add, p -> {});
+        for (int n = 1; n <= 50; ++n) {
+            worker.submit(points(n));
+        }
+        while (results.isEmpty()) {
+            Runnable action = published.poll(10, TimeUnit.SECONDS);
+            assertNotNull(action, "result published");
+            action.run();
+        }
+        assertEquals(1, results.size(), "single result");
+        assertEquals(50, results.get(0).getPoints().size(), "only the latest request is published");
+        worker.shutdown();
+    }
+
+    @Test
+    public void testPublish() throws InterruptedException {
+        BlockingQueue<Runnable> published = new LinkedBlockingQueue<>();
+        List<Interpolation> results = new ArrayList<>();
+        InterpolationWorker worker = new InterpolationWorker(published::add, results::add, p -> {});
+        worker.submit(points(50));
+        Interpolation restored = new Interpolation(points(2));
+        worker.publish(restored);
+        while (results.isEmpty()) {
+            Runnable action = published.poll(10, TimeUnit.SECONDS);
+            assertNotNull(action, "result published");
+            action.run();
+        }
+        assertSame(restored, results.get(0), "published result supersedes the computation");
+        worker.shutdown();
+    }
+
+    @Test
+    public void testInterrupted() {
+        List<Point> points = Arrays.asList(
+                new Point(new Rational(1), new Rational(2)),
+                new Point(new Rational(2), new Rational(3))
+        );
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> new Interpolation(points).getShifted(),
+                    "interpolating in interrupted thread");
+        }
+        finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package interpolation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class LruCacheTest {
+    @Test
+    public void testPutIfAbsent() {
+        LruCache<String, Integer> cache = new LruCache<>(64);
+        assertNull(cache.putIfAbsent("a", 1), "stored");
+        assertEquals(1, cache.putIfAbsent("a", 2), "existing value");
+        assertEquals(1, cache.get("a"), "get");
+        assertNull(cache.get("b"), "missing");
+        assertEquals(1, cache.size(), "size");
+    }
+
+    @Test
+    public void testBounded() {
+        LruCache<Integer, Integer> cache = new LruCache<>(64);
+        for (int i = 0; i < 10000; ++i) {
+            cache.putIfAbsent(i, i);
+        }
+        assertTrue(cache.size() <= 64, "size " + cache.size() + " <= capacity");
+    }
+
+    @Test
+    public void testRecentlyUsedKept() {
+        // Keys 0, 16, 32, ... share a stripe of capacity 2.
+        LruCache<Integer, Integer> cache = new LruCache<>(2 * LruCache.stripeCount);
+        int first = key(0);
+        cache.putIfAbsent(first, 0);
+        for (int i = 1; i < 10; ++i) {
+            assertEquals(0, cache.get(first), "used again before insert " + i);
+            cache.putIfAbsent(key(i), i);
+        }
+        assertEquals(0, cache.get(first), "recently used key kept");
+        assertNull(cache.get(key(1)), "least recently used key evicted");
+    }
+
+    // Integer keys with the same stripe.
+    private static int key(int i) {
+        return i * LruCache.stripeCount;
+    }
+
+    @Test
+    public void testSingleStripe() {
+        LruCache<Integer, Integer> cache = new LruCache<>(3, 1);
+        cache.putIfAbsent(1, 1);
+        cache.putIfAbsent(2, 2);
+        cache.putIfAbsent(3, 3);
+        cache.get(1);
+        cache.putIfAbsent(4, 4);
+        assertEquals(3, cache.size(), "size");
+        assertEquals(1, cache.get(1), "recently used key kept");
+        assertNull(cache.get(2), "least recently used key evicted");
+    }
+
+    @Test
+    public void testCapacityTooSmall() {
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<String, String>(1), "capacity too small");
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<String, String>(64, 3),
+                "stripe count not a power of two");
+    }
+}
@@ -0,0 +1,41 @@
+package interpolation;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import org.junit.jupiter.api.Test;
+
+public class MetricsTest {
+    @Test
+    public void testCounters() {
+        assumeTrue(Metrics.enabled, "metrics are disabled");
+        Metrics.Snapshot before = Metrics.snapshot();
+        new Rational(2, 3).mul(new Rational(3, 4));
+        Metrics.Snapshot after = Metrics.snapshot();
+        assertTrue(after.getRationals() - before.getRationals() >= 3, "rationals");
+        assertTrue(after.getGcdCalls() - before.getGcdCalls() >= 5, "gcd calls");
+        assertTrue(after.getMultiplications() - before.getMultiplications() >= 2, "multiplications");
+    }
+
+    @Test
+    public void testReport() {
+        Interpolation interp = new Interpolation(Arrays.asList(
+                new Point(new Rational(0), new Rational(1000)),
+                new Point(new Rational(1, 3), new Rational(1)),
+                new Point(new Rational(1, 2), new Rational(7))
+        ));
+        if (!Metrics.enabled) {
+            assertFalse(interp.getReport().isPresent(), "no report when disabled");
+            return;
+        }
+        Metrics.Report report = interp.getReport().get();
+        // Nodes are shifted to t = -2, 0, 1 (x = t/6 + 1/3),
+        // so columns are [1000, 1, 7], [-999/2, 6] and [337/2]
+        assertArrayEquals(new int[] { 10, 10, 9 }, report.getNumBits(), "numerator bits");
+        assertEquals(1, report.getDenBits()[0], "denominator bits of column 0");
+        assertEquals(3, report.getDenBits().length, "number of columns");
+        assertTrue(report.getDifferencesNanos() >= 0, "differences time");
+        assertTrue(report.getExpansionNanos() >= 0, "expansion time");
+    }
+}
@@ -0,0 +1,113 @@
+package interpolation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class NevilleTest {
+    private static List<Point> randomPoints(Random random, int n) {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < n; ++i) {
+            // Distinct nodes in random order.
+            Rational x = new Rational(2 * i).add(new Rational(1, random.nextInt(5) + 2));
+            points.add(new Point(x, new Rational(random.nextInt(201) - 100, random.nextInt(9) + 1)));
+        }
+        Collections.shuffle(points, random);
+        return points;
+    }
+
+    @Test
+    public void testMatchesPolynomial() {
+        Random random = new Random(7);
+        for (int n = 1; n <= 12; ++n) {
+            List<Point> points = randomPoints(random, n);
+            Interpolation interp = new Interpolation(points);
+            for (Rational x : Arrays.asList(new Rational(0), new Rational(-7, 3), new Rational(25, 2))) {
+                assertEquals(interp.getShifted().eval(x), Neville.eval(points, x),
+                        "value at " + x + " for " + points);
+                assertEquals(interp.eval(x), interp.evalDirect(x), "Interpolation methods at " + x);
+            }
+        }
+    }
+
+    @Test
+    public void testNodes() {
+        List<Point> points = Arrays.asList(
+                new Point(new Rational(1), new Rational(0)),
+                new Point(new Rational(2), new Rational(2)),
+                new Point(new Rational(4), new Rational(12)));
+        for (Point p : points) {
+            assertEquals(p.getY(), Neville.eval(points, p.getX()), "value at node " + p.getX());
+        }
+        assertEquals(new Rational(6), Neville.eval(points, new Rational(3)), "value between nodes");
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(new Rational(0), Neville.eval(Collections.emptyList(), new Rational(5)), "no points");
+        assertEquals(0.0, Neville.eval(new double[0], new double[0], 5.0), "no points in double precision");
+    }
+
+    @Test
+    public void testDuplicates() {
+        List<Point> points = Arrays.asList(
+                new Point(new Rational(1), new Rational(0)),
+                new Point(new Rational(2), new Rational(2)),
+                new Point(new Rational(1), new Rational(3)));
+        assertThrows(IllegalArgumentException.class, () -> Neville.eval(points, new Rational(5)),
+                "duplicate node");
+        assertThrows(IllegalArgumentException.class, () -> Neville.eval(points, new Rational(2)),
+                "duplicate node when evaluating at a node");
+        assertThrows(IllegalArgumentException.class,
+                () -> Neville.eval(new double[] {1, 2, 1}, new double[] {0, 2, 3}, 5.0),
+                "duplicate node in double precision");
+    }
+
+    @Test
+    public void testDouble() {
+        Random random = new Random(11);
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 8; ++i) {
+            points.add(new Point(new Rational(i, 2), new Rational(random.nextInt(201) - 100, random.nextInt(9) + 1)));
+        }
+        Collections.shuffle(points, random);
+        double[] xs = new double[points.size()];
+        double[] ys = new double[points.size()];
+        for (int i = 0; i < xs.length; ++i) {
+            xs[i] = points.get(i).getX().toDouble();
+            ys[i] = points.get(i).getY().toDouble();
+        }
+        for (Rational r : Arrays.asList(new Rational(0), new Rational(3, 10), new Rational(11, 4), new Rational(4))) {
+            double x = r.toDouble();
+            double expected = Neville.eval(points, r).toDouble();
+            assertEquals(expected, Neville.eval(xs, ys, x), 1e-6 * Math.max(1.0, Math.abs(expected)),
+                    "value at " + x);
+        }
+        assertThrows(IllegalArgumentException.class, () -> Neville.eval(xs, new double[3], 0.0),
+                "length mismatch");
+    }
+
+    @Test
+    public void testEarlyExit() {
+        // Samples of a cubic: the estimates settle after four points.
+        int n = 40;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; ++i) {
+            xs[i] = i * 0.25;
+            ys[i] = xs[i] * xs[i] * xs[i] - 2 * xs[i] + 1;
+        }
+        double x = 3.1;
+        double expected = x * x * x - 2 * x + 1;
+        assertEquals(expected, Neville.eval(xs, ys, x, 1e-12), 1e-9, "early exit");
+        // Unused points aren't checked, so a far duplicate shows the exit.
+        xs[n - 1] = xs[n - 2];
+        assertEquals(expected, Neville.eval(xs, ys, x, 1e-12), 1e-9, "far points unused");
+        assertThrows(IllegalArgumentException.class, () -> Neville.eval(xs, ys, x), "all points used");
+    }
+}
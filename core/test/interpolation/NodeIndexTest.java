@@ -0,0 +1,91 @@
+package interpolation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class NodeIndexTest {
+    private Point point(long x, long y) {
+        return new Point(new Rational(x), new Rational(y));
+    }
+
+    @Test
+    public void testInsertOrder() {
+        NodeIndex index = new NodeIndex();
+        List<Long> xs = new ArrayList<>();
+        for (long x = 0; x < 200; ++x) {
+            xs.add(x);
+        }
+        Collections.shuffle(xs, new Random(1));
+        for (long x : xs) {
+            index.insert(point(x, -x));
+        }
+        assertEquals(200, index.size(), "size");
+        for (int i = 0; i < 200; ++i) {
+            assertEquals(point(i, -i), index.get(i), "point " + i);
+            assertEquals(i, index.indexOf(new Rational(i)), "index of " + i);
+        }
+        assertEquals(-1, index.indexOf(new Rational(-5)), "insertion point at start");
+        assertEquals(-4, index.indexOf(new Rational(5, 2)), "insertion point in the middle");
+        assertEquals(-201, index.indexOf(new Rational(1000)), "insertion point at end");
+    }
+
+    @Test
+    public void testInsertPosition() {
+        NodeIndex index = new NodeIndex();
+        assertEquals(0, index.insert(point(5, 0)), "first");
+        assertEquals(0, index.insert(point(1, 0)), "before");
+        assertEquals(2, index.insert(point(9, 0)), "after");
+        assertEquals(2, index.insert(point(7, 0)), "between");
+    }
+
+    @Test
+    public void testDuplicate() {
+        NodeIndex index = new NodeIndex();
+        index.insert(point(1, 2));
+        assertTrue(index.contains(new Rational(1)), "contains");
+        assertFalse(index.contains(new Rational(2)), "doesn't contain");
+        assertThrows(IllegalArgumentException.class, () -> index.insert(point(1, 3)),
+                "inserting duplicate node");
+        assertEquals(1, index.size(), "size after failed insert");
+    }
+
+    @Test
+    public void testRemove() {
+        NodeIndex index = new NodeIndex();
+        for (long x = 0; x < 50; ++x) {
+            index.insert(point(x, x));
+        }
+        for (long x = 0; x < 50; x += 2) {
+            assertEquals((int) x / 2, index.remove(new Rational(x)), "position of removed " + x);
+        }
+        assertEquals(-1, index.remove(new Rational(0)), "removing missing node");
+        assertEquals(25, index.size(), "size");
+        List<Point> expected = new ArrayList<>();
+        for (long x = 1; x < 50; x += 2) {
+            expected.add(point(x, x));
+        }
+        assertIterableEquals(expected, index.toList(), "remaining points");
+    }
+
+    @Test
+    public void testReplace() {
+        NodeIndex index = new NodeIndex();
+        index.insert(point(1, 1));
+        index.insert(point(2, 2));
+        assertEquals(1, index.replace(point(2, 5)), "replaced position");
+        assertEquals(-1, index.replace(point(3, 5)), "replacing missing node");
+        assertEquals(point(2, 5), index.find(new Rational(2)), "replaced point");
+    }
+
+    @Test
+    public void testGetOutOfBounds() {
+        NodeIndex index = new NodeIndex();
+        index.insert(point(1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.get(1), "get past end");
+    }
+}
@@ -0,0 +1,76 @@
+package interpolation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+public class NttTest {
+    private static BigInteger[] schoolbook(BigInteger[] a, BigInteger[] b) {
+        BigInteger[] c = new BigInteger[a.length + b.length - 1];
+        Arrays.fill(c, BigInteger.ZERO);
+        for (int i = 0; i < a.length; ++i) {
+            for (int j = 0; j < b.length; ++j) {
+                c[i + j] = c[i + j].add(a[i].multiply(b[j]));
+            }
+        }
+        return c;
+    }
+
+    private static BigInteger[] random(Random random, int n, int bits) {
+        BigInteger[] a = new BigInteger[n];
+        for (int i = 0; i < n; ++i) {
+            a[i] = new BigInteger(random.nextInt(bits + 1), random);
+            if (random.nextBoolean()) {
+                a[i] = a[i].negate();
+            }
+        }
+        return a;
+    }
+
+    @Test
+    public void testSingle() {
+        BigInteger[] a = { BigInteger.valueOf(-6) };
+        BigInteger[] b = { BigInteger.valueOf(7) };
+        assertArrayEquals(new BigInteger[] { BigInteger.valueOf(-42) }, Ntt.multiply(a, b), "-6 * 7");
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(1);
+        int[][] shapes = { {3, 5, 63}, {5, 9, 64}, {33, 17, 65}, {100, 100, 300}, {200, 3, 2000}, {17, 400, 128} };
+        for (int[] shape : shapes) {
+            BigInteger[] a = random(random, shape[0], shape[2]);
+            BigInteger[] b = random(random, shape[1], shape[2]);
+            assertArrayEquals(schoolbook(a, b), Ntt.multiply(a, b), Arrays.toString(shape));
+        }
+    }
+
+    @Test
+    public void testLargestLimbs() {
+        // All limbs are 2^64 - 1, which makes the convolution sums as large as possible.
+        BigInteger max = BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+        BigInteger[] a = new BigInteger[50];
+        BigInteger[] b = new BigInteger[70];
+        Arrays.fill(a, max.negate());
+        Arrays.fill(b, max);
+        assertArrayEquals(schoolbook(a, b), Ntt.multiply(a, b), "(-(2^256 - 1)) * (2^256 - 1)");
+    }
+
+    @Test
+    public void testZeros() {
+        BigInteger[] a = new BigInteger[20];
+        Arrays.fill(a, BigInteger.ZERO);
+        a[19] = BigInteger.ONE;
+        BigInteger[] b = random(new Random(2), 20, 100);
+        assertArrayEquals(schoolbook(a, b), Ntt.multiply(a, b), "x^19 * b");
+    }
+
+    @Test
+    public void testSupports() {
+        assertTrue(Ntt.supports(1000, 64, 1000, 64), "small product");
+        assertFalse(Ntt.supports(1 << 20, 64 * 1000, 1 << 20, 64), "too many limbs");
+    }
+}
@@ -0,0 +1,54 @@
+package interpolation;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class PixelDecimatorTest {
+    @Test
+    public void testLineSparse() {
+        double[] xs = {0.5, 1.5, 2.5};
+        double[] ys = {3.0, 1.0, 2.0};
+        double[] outXs = new double[3];
+        double[] outYs = new double[3];
+        int n = PixelDecimator.decimateLine(xs, ys, 3, outXs, outYs);
+        assertEquals(3, n, "nothing to decimate");
+        assertArrayEquals(xs, outXs, 0.0, "x");
+        assertArrayEquals(ys, outYs, 0.0, "y");
+    }
+
+    @Test
+    public void testLineColumn() {
+        double[] xs = {0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 1.5};
+        double[] ys = {5.0, 9.0, 4.0, 1.0, 6.0, 7.0, 3.0};
+        double[] outXs = new double[xs.length];
+        double[] outYs = new double[xs.length];
+        int n = PixelDecimator.decimateLine(xs, ys, xs.length, outXs, outYs);
+        assertEquals(5, n, "first, max, min, last and next column");
+        assertArrayEquals(new double[] {0.1, 0.2, 0.4, 0.6, 1.5},
+                Arrays.copyOf(outXs, n), 0.0, "x");
+        assertArrayEquals(new double[] {5.0, 9.0, 1.0, 7.0, 3.0},
+                Arrays.copyOf(outYs, n), 0.0, "y");
+    }
+
+    @Test
+    public void testLineNonFinite() {
+        double[] xs = {0.5, 1.5, 2.5};
+        double[] ys = {3.0, Double.NaN, Double.POSITIVE_INFINITY};
+        int n = PixelDecimator.decimateLine(xs, ys, 3, new double[3], new double[3]);
+        assertEquals(1, n, "non-finite vertices skipped");
+    }
+
+    @Test
+    public void testMarkers() {
+        double[] xs = {1.2, 1.7, 3.0, -1.0, 4.5, 1.1};
+        double[] ys = {2.2, 2.9, 3.0, 1.0, 1.0, 3.5};
+        double[] outXs = new double[xs.length];
+        double[] outYs = new double[xs.length];
+        int n = PixelDecimator.decimateMarkers(xs, ys, xs.length, 4, 4, outXs, outYs);
+        assertEquals(3, n, "duplicates and outside markers dropped");
+        assertArrayEquals(new double[] {1.2, 3.0, 1.1},
+                Arrays.copyOf(outXs, n), 0.0, "x");
+    }
+}
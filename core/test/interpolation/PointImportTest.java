@@ -0,0 +1,53 @@
+package interpolation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class PointImportTest {
+    @Test
+    public void testSeparators() {
+        String text = "1\t2\n"
+                + "2, -1/2\n"
+                + "\n"
+                + "# comment\n"
+                + "3;1 1/3\n"
+                + "  4   0.25  \n";
+        PointImport result = PointImport.parse(text, Collections.emptySet());
+        List<Point> expected = Arrays.asList(
+                new Point(new Rational(1), new Rational(2)),
+                new Point(new Rational(2), new Rational(-1, 2)),
+                new Point(new Rational(3), new Rational(4, 3)),
+                new Point(new Rational(4), new Rational(1, 4))
+        );
+        assertIterableEquals(expected, result.getPoints(), "parsed points");
+        assertTrue(result.getErrors().isEmpty(), "no errors");
+    }
+
+    @Test
+    public void testErrors() {
+        String text = "1 2\n"
+                + "x,y\n"
+                + "1 2 3\n"
+                + "1,2,3\n"
+                + "5,6\n";
+        PointImport result = PointImport.parse(text, Collections.emptySet());
+        assertEquals(2, result.getPoints().size(), "valid rows imported");
+        assertEquals(3, result.getErrors().size(), "invalid rows reported");
+        assertTrue(result.getErrors().get(0).startsWith("Line 2:"), "line number in error");
+    }
+
+    @Test
+    public void testDuplicates() {
+        String text = "1,2\n2,3\n2,4\n";
+        PointImport result = PointImport.parse(text,
+                new HashSet<>(Arrays.asList(new Rational(1))));
+        assertIterableEquals(Arrays.asList(new Point(new Rational(2), new Rational(3))),
+                result.getPoints(), "duplicates skipped");
+        assertEquals(2, result.getErrors().size(), "duplicates reported");
+    }
+}
@@ -0,0 +1,66 @@
+package interpolation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class PointSetTest {
+    private final Rational huge = new Rational(
+            BigInteger.valueOf(3).pow(100), BigInteger.valueOf(7).pow(50));
+
+    private List<Point> points() {
+        return Arrays.asList(
+                new Point(new Rational(1, 3), new Rational(-5)),
+                new Point(new Rational(Long.MAX_VALUE), huge),
+                new Point(huge.negate(), new Rational(Long.MIN_VALUE)),
+                new Point(new Rational(0), new Rational(7, 2))
+        );
+    }
+
+    @Test
+    public void testGet() {
+        PointSet set = new PointSet(points());
+        assertEquals(4, set.size(), "size");
+        for (int i = 0; i < 4; ++i) {
+            assertEquals(points().get(i), set.get(i), "point " + i);
+            assertEquals(points().get(i).getX(), set.getX(i), "x " + i);
+            assertEquals(points().get(i).getY(), set.getY(i), "y " + i);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> set.get(4), "get past end");
+    }
+
+    @Test
+    public void testGrow() {
+        PointSet set = new PointSet();
+        List<Point> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            Point p = new Point(new Rational(i, 7), new Rational(-i));
+            set.add(p);
+            expected.add(p);
+        }
+        assertIterableEquals(expected, set.asList(), "all points");
+    }
+
+    @Test
+    public void testCopy() {
+        PointSet set = new PointSet(points());
+        PointSet copy = set.copy();
+        set.add(new Point(new Rational(10), new Rational(10)));
+        assertEquals(4, copy.size(), "copy unaffected");
+        assertIterableEquals(points(), copy.asList(), "copied points");
+    }
+
+    @Test
+    public void testInterpolation() {
+        PointSet set = new PointSet(points());
+        Interpolation interp = new Interpolation(set);
+        // Points are read from the copied columns when the result is computed.
+        set.add(new Rational(1000), new Rational(1));
+        assertEquals(new Interpolation(points()).getResult(), interp.getResult(), "same result");
+        assertIterableEquals(points(), interp.getPoints(), "points view");
+    }
+}
@@ -0,0 +1,298 @@
+package interpolation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class PolyTest {
+    @Test
+    public void testGet() {
+        Poly a = new Poly(
+            new Rational(1),
+            new Rational(2),
+            new Rational(0),
+            new Rational(4),
+            new Rational(0)
+        );
+        assertEquals(new Rational(1), a.get(0), "a0");
+        assertEquals(new Rational(2), a.get(1), "a1");
+        assertEquals(new Rational(0), a.get(2), "a2");
+        assertEquals(new Rational(4), a.get(3), "a3");
+        assertEquals(new Rational(0), a.get(4), "a4");
+        assertEquals(new Rational(0), a.get(10), "a10");
+    }
+
+    @Test
+    public void testDegreeZero() {
+        assertTrue(new Poly(new Rational(0)).degree() < 0,
+                "degree of zero polynomial < 0");
+    }
+
+    @Test
+    public void testDegreeConst() {
+        assertEquals(0, new Poly(new Rational(3)).degree(),
+                "degree of const polynomial = 0");
+    }
+
+    @Test
+    public void testDegreeTwo() {
+        Poly a = new Poly(new Rational(1), new Rational(0), new Rational(3), new Rational(0));
+        assertEquals(2, a.degree(), "degree of [1 + 3x^2] = 0");
+    }
+
+    @Test
+    public void testEquality() {
+        Poly a1 = new Poly(new Rational(1), new Rational(2), new Rational(1, 2));
+        Poly a2 = new Poly(new Rational(1), new Rational(2), new Rational(1, 2));
+        Poly b = new Poly(new Rational(2), new Rational(1), new Rational(1, 2));
+        TestUtils.testEquality(a1, a2, b);
+    }
+
+    @Test
+    public void testAddZero() {
+        Poly a = new Poly(new Rational(1), new Rational(2), new Rational(1, 2));
+        Poly b = new Poly();
+        assertEquals(a, a.add(b), "[" + a + "] + " + b);
+    }
+
+    @Test
+    public void testAddConst() {
+        Poly a = new Poly(new Rational(1), new Rational(2), new Rational(1, 2));
+        Poly b = new Poly(new Rational(-1));
+        Poly y = new Poly(new Rational(0), new Rational(2), new Rational(1, 2));
+        assertEquals(y, a.add(b), "[" + a + "] + [" + b + "]");
+    }
+
+    @Test
+    public void testAddHigher() {
+        Poly a = new Poly(new Rational(1), new Rational(2), new Rational(1, 2));
+        Poly b = new Poly(new Rational(0), new Rational(1, 2), new Rational(-1, 2));
+        Poly y = new Poly(new Rational(1), new Rational(5, 2));
+        assertEquals(y, a.add(b), "[" + a + "] + [" + b + "]");
+    }
+
+    @Test
+    public void testMulZero() {
+        Poly a = new Poly(new Rational(1), new Rational(2), new Rational(1, 2));
+        Poly b = new Poly(new Rational(0));
+        assertEquals(b, a.mul(b), "[" + a + "] * 0");
+    }
+
+    @Test
+    public void testMulConst() {
+        Poly a = new Poly(new Rational(1), new Rational(2), new Rational(1, 2));
+        Poly b = new Poly(new Rational(1, 2));
+        Poly y = new Poly(new Rational(1, 2), new Rational(1), new Rational(1, 4));
+        assertEquals(y, a.mul(b), "[" + a + "] * [" + b + "]");
+    }
+
+    @Test
+    public void testMulSquare() {
+        Poly a = new Poly(new Rational(3), new Rational(-2));
+        Poly y = new Poly(new Rational(9), new Rational(-12), new Rational(4));
+        assertEquals(y, a.mul(a), "[" + a + "]^2");
+    }
+
+    @Test
+    public void testEval() {
+        Poly p = new Poly(new Rational(-3), new Rational(-1), new Rational(2));
+        Rational x = new Rational(-2);
+        Rational y = new Rational(7);
+        assertEquals(y, p.eval(x), "[" + p + "](" + x + ")");
+    }
+
+    @Test
+    public void testEvalZero() {
+        Poly p = new Poly();
+        assertEquals(new Rational(0), p.eval(new Rational(3, 7)), "0(3/7)");
+        assertEquals(new Rational(0), p.eval(5), "0(5)");
+    }
+
+    @Test
+    public void testEvalFraction() {
+        Poly p = new Poly(new Rational(1, 2), new Rational(-2, 3), new Rational(3, 4));
+        Rational x = new Rational(-2, 5);
+        // 1/2 + 4/15 + 3/25 = 133/150
+        Rational y = new Rational(133, 150);
+        assertEquals(y, p.eval(x), "[" + p + "](" + x + ")");
+    }
+
+    @Test
+    public void testEvalLong() {
+        Poly p = new Poly(new Rational(1, 2), new Rational(-2, 3), new Rational(3, 4));
+        // 1/2 + 2 + 27/4 = 37/4
+        assertEquals(new Rational(37, 4), p.eval(-3), "[" + p + "](-3)");
+        assertEquals(p.eval(new Rational(-3)), p.eval(-3), "eval(long) = eval(Rational)");
+    }
+
+    @Test
+    public void testEvalCached() {
+        Poly p = new Poly(new Rational(1, 2), new Rational(-2, 3), new Rational(3, 4));
+        Rational x = new Rational(-2, 5);
+        Rational y = p.eval(x);
+        assertSame(y, p.eval(new Rational(-2, 5)), "repeated evaluation");
+        assertSame(p.eval(-3), p.eval(new Rational(-3)), "integral arguments share entries");
+        // Far more arguments than the cache holds still evaluate correctly.
+        for (int i = 0; i < 1000; ++i) {
+            Rational t = new Rational(i, 7);
+            // A fresh instance starts with an empty cache.
+            Poly fresh = new Poly(new Rational(1, 2), new Rational(-2, 3), new Rational(3, 4));
+            assertEquals(fresh.eval(t), p.eval(t), "P(" + t + ")");
+        }
+        assertEquals(new Rational(133, 150), p.eval(x), "after eviction");
+    }
+
+    @Test
+    public void testToStringZero() {
+        assertEquals("0", new Poly().toString(), "zero poly to string");
+    }
+
+    @Test
+    public void testToStringOne() {
+        Poly p = new Poly(new Rational(0), new Rational(0), new Rational(-2));
+        assertEquals("- 2x^2", p.toString(), "to string");
+    }
+
+    @Test
+    public void testToStringMany() {
+        Poly p = new Poly(
+            new Rational(1),
+            new Rational(-2),
+            new Rational(1, 3),
+            new Rational(-3, 2),
+            new Rational(-1)
+        );
+        assertEquals("- x^4 - 1.5x^3 + (1/3)x^2 - 2x + 1", p.toString(), "to string");
+
+    }
+
+    // x^n + a
+    private static Poly binomial(int n, Rational a) {
+        Rational[] as = new Rational[n + 1];
+        for (int i = 0; i <= n; ++i) {
+            as[i] = new Rational(0);
+        }
+        as[0] = a;
+        as[n] = new Rational(1);
+        return new Poly(as);
+    }
+
+    @Test
+    public void testSparseRepresentation() {
+        Poly p = binomial(1000, new Rational(-1));
+        assertTrue(p.isSparse(), "x^1000 - 1 is sparse");
+        assertEquals(1000, p.degree(), "degree");
+        assertEquals(new Rational(-1), p.get(0), "a0");
+        assertEquals(new Rational(0), p.get(500), "a500");
+        assertEquals(new Rational(1), p.get(1000), "a1000");
+        assertEquals(new Rational(0), p.get(1001), "a1001");
+        assertEquals("x^1000 - 1", p.toString(), "to string");
+        assertFalse(new Poly(new Rational(1), new Rational(0), new Rational(0), new Rational(1)).isSparse(),
+                "low degree polynomials are dense");
+    }
+
+    @Test
+    public void testSparseEquality() {
+        // The same polynomial built densely, by addition and by multiplication.
+        Poly a1 = binomial(40, new Rational(1, 2));
+        Poly a2 = binomial(40, new Rational(0)).add(new Poly(new Rational(1, 2)));
+        Poly a3 = binomial(20, new Rational(0)).mul(binomial(20, new Rational(0)))
+                .add(new Poly(new Rational(1, 2)));
+        Poly b = binomial(40, new Rational(1, 3));
+        TestUtils.testEquality(a1, a2, b);
+        TestUtils.testEquality(a1, a3, b);
+    }
+
+    @Test
+    public void testSparseAddDense() {
+        // Filling the gaps gives a dense polynomial, cancelling the terms again a sparse one.
+        Rational[] as = new Rational[41];
+        for (int i = 0; i <= 40; ++i) {
+            as[i] = new Rational(i + 1);
+        }
+        Poly dense = new Poly(as);
+        Poly sparse = binomial(50, new Rational(0));
+        Poly sum = sparse.add(dense);
+        assertFalse(sum.isSparse(), "sum is dense");
+        assertEquals(new Rational(1), sum.get(0), "a0");
+        assertEquals(new Rational(41), sum.get(40), "a40");
+        assertEquals(new Rational(1), sum.get(50), "a50");
+        Poly diff = sum.add(dense.mul(new Poly(new Rational(-1))));
+        assertTrue(diff.isSparse(), "difference is sparse");
+        assertEquals(sparse, diff, "(sparse + dense) - dense");
+        assertEquals(new Poly(), diff.add(sparse.mul(new Poly(new Rational(-1)))), "P - P");
+    }
+
+    @Test
+    public void testSparseMul() {
+        // (x^1000 - 1)(x^1000 + 1) = x^2000 - 1
+        Poly p = binomial(1000, new Rational(-1)).mul(binomial(1000, new Rational(1)));
+        assertEquals(binomial(2000, new Rational(-1)), p, "difference of squares");
+        assertTrue(p.isSparse(), "product is sparse");
+    }
+
+    @Test
+    public void testSparseMulDense() {
+        // (x^20 + 2)(1 + x + ... + x^5) compared coefficient by coefficient
+        Poly sparse = binomial(20, new Rational(2));
+        Rational[] as = new Rational[6];
+        for (int i = 0; i < as.length; ++i) {
+            as[i] = new Rational(1, i + 1);
+        }
+        Poly dense = new Poly(as);
+        Poly p = sparse.mul(dense);
+        assertEquals(p, dense.mul(sparse), "commutative");
+        for (int i = 0; i <= 25; ++i) {
+            Rational expected = new Rational(0);
+            if (i <= 5) {
+                expected = expected.add(as[i].mul(new Rational(2)));
+            }
+            if (i >= 20) {
+                expected = expected.add(as[i - 20]);
+            }
+            assertEquals(expected, p.get(i), "a" + i);
+        }
+    }
+
+    private static Rational pow(Rational x, int n) {
+        Rational y = new Rational(1);
+        for (int i = 0; i < n; ++i) {
+            y = y.mul(x);
+        }
+        return y;
+    }
+
+    @Test
+    public void testSparseEval() {
+        Poly p = binomial(64, new Rational(-3, 4)).add(binomial(17, new Rational(0)).mul(new Poly(new Rational(5))));
+        assertTrue(p.isSparse(), "sparse");
+        Rational x = new Rational(-2, 3);
+        Rational expected = pow(x, 64).add(pow(x, 17).mul(new Rational(5))).sub(new Rational(3, 4));
+        assertEquals(expected, p.eval(x), "eval(Rational)");
+        Rational y = pow(new Rational(3), 64).add(pow(new Rational(3), 17).mul(new Rational(5))).sub(new Rational(3, 4));
+        assertEquals(y, p.eval(3), "eval(long)");
+        assertEquals(new Rational(0), binomial(30, new Rational(0)).eval(new Rational(0)), "eval at 0");
+    }
+
+    @Test
+    public void testMulLarge() {
+        // Large enough for the number theoretic transform, compared with schoolbook products.
+        java.util.Random random = new java.util.Random(3);
+        Rational[] as = new Rational[120];
+        Rational[] bs = new Rational[90];
+        for (int i = 0; i < as.length; ++i) {
+            as[i] = new Rational(random.nextInt(2001) - 1000, random.nextInt(100) + 1);
+        }
+        for (int i = 0; i < bs.length; ++i) {
+            bs[i] = new Rational(random.nextLong(), random.nextInt(1000) + 1);
+        }
+        Poly p = new Poly(as).mul(new Poly(bs));
+        assertEquals(as.length + bs.length - 2, p.degree(), "degree");
+        for (int k = 0; k <= p.degree(); ++k) {
+            Rational expected = new Rational(0);
+            for (int i = Math.max(0, k - bs.length + 1); i <= Math.min(k, as.length - 1); ++i) {
+                expected = expected.add(as[i].mul(bs[k - i]));
+            }
+            assertEquals(expected, p.get(k), "a" + k);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package interpolation;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class RationalInternerTest {
+    @Test
+    public void testIntern() {
+        RationalInterner interner = new RationalInterner(64);
+        Rational a = new Rational(12345, 7);
+        assertSame(a, interner.intern(a), "first instance is kept");
+        assertSame(a, interner.intern(new Rational(12345, 7)), "equal value returns the first instance");
+        assertSame(Rational.valueOf(1, 2), interner.intern(new Rational(1, 2)), "small values come from the table");
+        assertEquals(2, interner.getHits(), "hits");
+        assertEquals(1, interner.getMisses(), "misses");
+        assertEquals(2.0 / 3.0, interner.getHitRate(), 1e-12, "hit rate");
+        assertEquals(1, interner.size(), "small values take no space");
+        Rational min = new Rational(Long.MIN_VALUE);
+        assertEquals(min, interner.intern(min), "-2^63 isn't a small value");
+    }
+
+    @Test
+    public void testSmallValues() {
+        RationalInterner interner = new RationalInterner(64);
+        for (int i = 0; i < 5; ++i) {
+            assertSame(Rational.valueOf(3), interner.intern(Rational.parse("3")), "shared 3");
+            assertSame(Rational.valueOf(1, 2), interner.intern(Rational.valueOf(1, 2)), "shared 1/2");
+        }
+        assertEquals(0, interner.size(), "small values take no space");
+        assertEquals(10, interner.getHits(), "hits");
+        assertEquals(0, interner.getMisses(), "misses");
+    }
+
+    @Test
+    public void testBounded() {
+        RationalInterner interner = new RationalInterner(32);
+        for (int i = 0; i < 10000; ++i) {
+            interner.intern(new Rational(BigInteger.valueOf(1000 + i)));
+        }
+        assertTrue(interner.size() <= 32, "size " + interner.size());
+        assertThrows(IllegalArgumentException.class, () -> new RationalInterner(1), "capacity too small");
+    }
+
+    @Test
+    public void testConcurrent() {
+        RationalInterner interner = new RationalInterner(1 << 12);
+        Rational[] first = new Rational[100];
+        for (int i = 0; i < first.length; ++i) {
+            first[i] = interner.intern(new Rational(1000 + i, 3));
+        }
+        IntStream.range(0, 100000).parallel().forEach(i -> {
+            int k = i % first.length;
+            assertSame(first[k], interner.intern(new Rational(1000 + k, 3)), "interned in parallel");
+        });
+        assertEquals(100000, interner.getHits(), "hits");
+    }
+
+    @Test
+    public void testImport() throws IOException {
+        RationalInterner interner = new RationalInterner(64);
+        PointImport result = PointImport.parse(new StringReader("1,1000.5\n2,1000.5\n3,0.5"),
+                Collections.emptySet(), interner);
+        assertSame(result.getPoints().get(0).getY(), result.getPoints().get(1).getY(), "repeated value shared");
+        assertSame(Rational.valueOf(1, 2), result.getPoints().get(2).getY(), "small value shared");
+    }
+}
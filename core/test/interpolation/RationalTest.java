@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigInteger;
+import java.util.Random;
 
 public class RationalTest {
     @Test
@@ -132,6 +133,91 @@ public class RationalTest {
                 "3/4 > -3/4");
     }
 
+    @Test
+    public void testCompareClose() {
+        // Closer than double precision can tell apart
+        Rational a = new Rational(BigInteger.TEN.pow(30).add(BigInteger.ONE), BigInteger.TEN.pow(30));
+        Rational b = new Rational(BigInteger.TEN.pow(31).add(BigInteger.ONE), BigInteger.TEN.pow(31));
+        assertTrue(a.compareTo(b) > 0, "1 + 10^-30 > 1 + 10^-31");
+        assertTrue(b.negate().compareTo(a.negate()) > 0, "-1 - 10^-31 > -1 - 10^-30");
+    }
+
+    @Test
+    public void testCompareHuge() {
+        // Beyond the range of doubles
+        BigInteger huge = BigInteger.TEN.pow(400);
+        Rational a = new Rational(huge.add(BigInteger.ONE), huge.subtract(BigInteger.ONE));
+        Rational b = new Rational(huge, huge.subtract(BigInteger.TEN));
+        assertTrue(a.compareTo(b) < 0, "close huge fractions");
+        assertTrue(new Rational(huge).compareTo(new Rational(huge.negate())) > 0, "huge opposite signs");
+        assertTrue(new Rational(BigInteger.ONE, huge).compareTo(new Rational(BigInteger.ONE, huge.add(BigInteger.ONE))) > 0,
+                "tiny fractions");
+    }
+
+    @Test
+    public void testCompareRandom() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; ++i) {
+            Rational a = randomRational(random);
+            Rational b = random.nextInt(10) == 0 ? a.add(new Rational(BigInteger.ONE, randomInteger(random).abs().add(BigInteger.ONE))) : randomRational(random);
+            assertEquals(a.sub(b).signum(), Integer.signum(a.compareTo(b)), a + " <=> " + b);
+            assertEquals(b.sub(a).signum(), Integer.signum(b.compareTo(a)), b + " <=> " + a);
+        }
+    }
+
+    private static BigInteger randomInteger(Random random) {
+        BigInteger n = new BigInteger(1 + random.nextInt(random.nextBoolean() ? 60 : 2000), random);
+        return random.nextBoolean() ? n.negate() : n;
+    }
+
+    private static Rational randomRational(Random random) {
+        return new Rational(randomInteger(random), randomInteger(random).abs().add(BigInteger.ONE));
+    }
+
+    @Test
+    public void testValueOf() {
+        assertSame(Rational.valueOf(0), Rational.valueOf(0, 7), "shared zero");
+        assertSame(Rational.valueOf(1, 2), Rational.valueOf(-3, -6), "shared half");
+        assertSame(Rational.valueOf(-256), Rational.valueOf(BigInteger.valueOf(-256)), "shared small integer");
+        assertEquals(new Rational(-7, 3), Rational.valueOf(14, -6), "reduced");
+        assertEquals(new Rational(1000003, 7), Rational.valueOf(1000003, 7), "large value");
+        assertEquals(new Rational(Long.MIN_VALUE, 2), Rational.valueOf(Long.MIN_VALUE, 2), "minimal long");
+        BigInteger huge = BigInteger.TEN.pow(40);
+        assertEquals(new Rational(huge, huge.add(BigInteger.ONE)),
+                Rational.valueOf(huge, huge.add(BigInteger.ONE)), "huge value");
+        assertThrows(IllegalArgumentException.class, () -> Rational.valueOf(1, 0), "zero denominator");
+    }
+
+    @Test
+    public void testParseShared() {
+        assertSame(Rational.valueOf(3, 4), Rational.parse("0.75"), "parsed small values are shared");
+        assertEquals(new Rational(Long.MIN_VALUE), Rational.parse("-9223372036854775808"), "-2^63 isn't shared");
+        assertEquals(new Rational(Long.MIN_VALUE, 3), Rational.parse("-9223372036854775808/3"),
+                "-2^63/3 isn't shared");
+    }
+
+    @Test
+    public void testIsZero() {
+        assertTrue(new Rational(0, 5).isZero(), "0 is zero");
+        assertFalse(new Rational(-1, 5).isZero(), "-1/5 is not zero");
+    }
+
+    @Test
+    public void testCompareToOne() {
+        assertEquals(0, new Rational(7, 7).compareToOne(), "7/7 == 1");
+        assertTrue(new Rational(7, 8).compareToOne() < 0, "7/8 < 1");
+        assertTrue(new Rational(9, 8).compareToOne() > 0, "9/8 > 1");
+        assertTrue(new Rational(-9, 8).compareToOne() < 0, "-9/8 < 1");
+    }
+
+    @Test
+    public void testHashCodeCached() {
+        Rational a = new Rational(BigInteger.TEN.pow(50), BigInteger.valueOf(3));
+        assertEquals(a.hashCode(), a.hashCode(), "same hash code");
+        assertEquals(new Rational(BigInteger.TEN.pow(50), BigInteger.valueOf(3)).hashCode(), a.hashCode(),
+                "equal values have equal hash codes");
+    }
+
     @Test
     public void testToStringInt() {
         assertEquals("13", new Rational(13).toString(), "to string");
@@ -225,4 +311,15 @@ public class RationalTest {
     public void testParseInvalidMixed() {
         assertParseThrows("- 1 3/");
     }
+
+    @Test
+    public void testToDoubleLong() {
+        assertEquals(0.75, new Rational(3, 4).toDouble(), "short fraction");
+        BigInteger big = BigInteger.ONE.shiftLeft(1500);
+        assertEquals(1.5, new Rational(big.multiply(BigInteger.valueOf(3)).add(BigInteger.ONE), big.shiftLeft(1)).toDouble(), 1e-15,
+                "moderate quotient of huge integers");
+        assertEquals(Math.scalb(1.0, 700), new Rational(big, BigInteger.ONE.shiftLeft(800).add(BigInteger.ONE))
+                .toDouble(), Math.scalb(1.0, 650), "large quotient");
+        assertEquals(0.0, new Rational(BigInteger.ONE, big).toDouble(), "underflow");
+    }
 }
@@ -0,0 +1,126 @@
+package interpolation;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SessionFileTest {
+    private Path dir;
+    private Path file;
+
+    @BeforeEach
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("session");
+        file = dir.resolve("test.ipol");
+    }
+
+    @AfterEach
+    public void deleteDir() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        BigInteger huge = BigInteger.TEN.pow(100);
+        List<Point> points = Arrays.asList(
+                new Point(new Rational(-3, 2), new Rational(0)),
+                new Point(new Rational(0), new Rational(-1)),
+                new Point(new Rational(huge), new Rational(huge.negate(), huge.add(BigInteger.ONE))),
+                new Point(new Rational(255), new Rational(-128, 127))
+        );
+        Interpolation interp = new Interpolation(points);
+        SessionFile.write(file, points, interp.getResult());
+
+        SessionFile session = SessionFile.open(file);
+        assertEquals(points.size(), session.pointCount(), "point count");
+        assertIterableEquals(points, session.getPoints(), "points");
+        assertEquals(interp.getResult().degree(), session.degree(), "degree");
+        assertEquals(interp.getResult().get(2), session.getCoeff(2), "single coefficient");
+        assertEquals(interp.getResult(), session.getPoly(), "polynomial");
+        assertEquals(interp.getResult(), session.getInterpolation().getResult(), "interpolation");
+        assertFalse(Files.exists(dir.resolve("test.ipol.tmp")), "temporary file removed");
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        SessionFile.write(file, new ArrayList<>(), new Poly());
+        SessionFile session = SessionFile.open(file);
+        assertEquals(0, session.pointCount(), "point count");
+        assertEquals(-1, session.degree(), "degree");
+        assertEquals(new Poly(), session.getPoly(), "polynomial");
+    }
+
+    @Test
+    public void testLargeDegree() throws IOException {
+        // Larger than the write buffer, so that flushing is tested too.
+        Rational[] coeffs = new Rational[3000];
+        for (int i = 0; i < coeffs.length; ++i) {
+            coeffs[i] = new Rational(BigInteger.valueOf(i + 1).pow(30), BigInteger.valueOf(7).pow(i % 50));
+        }
+        Poly poly = new Poly(coeffs);
+        SessionFile.write(file, new ArrayList<>(), poly);
+        SessionFile session = SessionFile.open(file);
+        assertEquals(coeffs[2999], session.getCoeff(2999), "last coefficient");
+        assertEquals(poly, session.getPoly(), "polynomial");
+    }
+
+    @Test
+    public void testDamaged() throws IOException {
+        SessionFile.write(file, Arrays.asList(new Point(new Rational(1), new Rational(2))), new Poly(new Rational(2)));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 42 }), 33);
+        }
+        IOException ex = assertThrows(IOException.class, () -> SessionFile.open(file), "damaged record");
+        assertEquals("Checksum mismatch", ex.getMessage(), "error message");
+
+        Files.write(file, "x,y\n1,2\n".getBytes());
+        assertThrows(IOException.class, () -> SessionFile.open(file), "text file");
+    }
+
+    // Overwrites one byte of the first record and fixes the checksum.
+    private void patch(int offset, int value) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[offset] = (byte) value;
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 32, bytes.length - 32);
+        ByteBuffer.wrap(bytes).putInt(24, (int) crc.getValue());
+        Files.write(file, bytes);
+    }
+
+    @Test
+    public void testNonCanonical() throws IOException {
+        List<Point> points = Arrays.asList(new Point(new Rational(2), new Rational(3)));
+        // x = 2 is stored as the bytes 02 02 02 01 at offset 32.
+        SessionFile.write(file, points, new Poly(new Rational(3)));
+        patch(35, 2);
+        SessionFile reducible = SessionFile.open(file);
+        assertThrows(IllegalStateException.class, () -> reducible.getPoint(0), "2/2 isn't reduced");
+
+        SessionFile.write(file, points, new Poly(new Rational(3)));
+        patch(34, 3);
+        SessionFile negative = SessionFile.open(file);
+        assertThrows(IllegalStateException.class, () -> negative.getPoint(0), "negative denominator");
+    }
+
+    @Test
+    public void testRestoreValidation() {
+        List<Point> points = Arrays.asList(new Point(new Rational(1), new Rational(2)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Interpolation(points, new Poly(new Rational(1), new Rational(1))),
+                "degree too high");
+    }
+}
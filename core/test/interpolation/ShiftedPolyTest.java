@@ -0,0 +1,86 @@
+package interpolation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class ShiftedPolyTest {
+    // P(x + a) computed term by term.
+    private static Poly naiveShift(Poly p, Rational a) {
+        Poly shift = new Poly(a, new Rational(1));
+        Poly power = new Poly(new Rational(1));
+        Poly result = new Poly();
+        for (int i = 0; i <= p.degree(); ++i) {
+            result = result.add(power.mul(new Poly(p.get(i))));
+            power = power.mul(shift);
+        }
+        return result;
+    }
+
+    private static Poly poly(int degree) {
+        Rational[] coeffs = new Rational[degree + 1];
+        for (int i = 0; i <= degree; ++i) {
+            coeffs[i] = new Rational((i * 7919) % 23 - 11, i % 5 + 1);
+        }
+        return new Poly(coeffs);
+    }
+
+    @Test
+    public void testTaylorShift() {
+        // Small degrees use Horner's scheme, larger ones are split.
+        for (int degree : new int[] { -1, 0, 1, 5, 15, 16, 17, 40, 64 }) {
+            Poly p = degree < 0 ? new Poly() : poly(degree);
+            Rational a = new Rational(-7, 3);
+            assertEquals(naiveShift(p, a), ShiftedPoly.taylorShift(p, a), "degree " + degree);
+        }
+    }
+
+    @Test
+    public void testConversion() {
+        Poly p = poly(30);
+        ShiftedPoly q = ShiftedPoly.of(p, new Rational(1000), new Rational(1, 4));
+        Rational x = new Rational(4001, 4);
+        assertEquals(p.eval(x), q.eval(x), "value");
+        assertEquals(p.eval(x), q.getPoly().eval(new Rational(1)), "value in t");
+
+        ShiftedPoly fresh = new ShiftedPoly(q.getPoly(), q.getCenter(), q.getScale());
+        assertEquals(p, fresh.expand(), "expanded");
+        assertSame(fresh.expand(), fresh.expand(), "expanded once");
+    }
+
+    @Test
+    public void testInvalidScale() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShiftedPoly(new Poly(), new Rational(1), new Rational(0)),
+                "zero scale");
+    }
+
+    @Test
+    public void testFarNodes() {
+        // Timestamps around 1.6e9
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 12; ++i) {
+            Rational x = new Rational(1600000000L + 60L * i);
+            points.add(new Point(x, new Rational(i * i % 7, 3)));
+        }
+        Interpolation interp = new Interpolation(points);
+        ShiftedPoly shifted = interp.getShifted();
+        int shiftedBits = Events.maxCoeffBits(shifted.getPoly());
+        int monomialBits = Events.maxCoeffBits(interp.getResult());
+        assertTrue(shiftedBits * 3 < monomialBits,
+                "shifted coefficients are much shorter (" + shiftedBits + " vs " + monomialBits + " bits)");
+        for (Point p : points) {
+            assertEquals(p.getY(), shifted.eval(p.getX()), "shifted value in " + p.getX());
+            assertEquals(p.getY(), interp.getResult().eval(p.getX()), "monomial value in " + p.getX());
+        }
+        // Double evaluation in the shifted basis stays accurate.
+        DoubleEvaluator f = new DoubleEvaluator(shifted);
+        for (Point p : points) {
+            double x = p.getX().toDouble();
+            assertEquals(p.getY().toDouble(), f.eval(x), 1e-6, "double value in " + x);
+            assertEquals(p.getY().toDouble(), f.eval(new double[] { x })[0], 1e-6, "batch value in " + x);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package interpolation;
+
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class ViewportSamplerTest {
+    // x^3 - 2x
+    private final DoubleEvaluator f = new DoubleEvaluator(
+            new Poly(new Rational(0), new Rational(-2), new Rational(0), new Rational(1)));
+    private final AdaptiveSampler sampler = new AdaptiveSampler(9, 500, 0.5);
+
+    @Test
+    public void testSample() {
+        ViewportSampler vs = new ViewportSampler(f, sampler, 4, 100);
+        AdaptiveSampler.Samples s = vs.sample(-2.5, 3.0, 800, 600);
+        assertTrue(s.getX(0) <= -2.5, "covers lower bound");
+        assertTrue(s.getX(s.size() - 1) >= 3.0, "covers upper bound");
+        for (int i = 0; i < s.size(); ++i) {
+            if (i > 0) {
+                assertTrue(s.getX(i-1) < s.getX(i), "samples ordered at " + i);
+            }
+            assertEquals(f.eval(s.getX(i)), s.getY(i), 0.0, "sample " + i);
+        }
+    }
+
+    @Test
+    public void testPixelTolerance() {
+        // Steep at the ends and nearly flat in the middle, relative to the viewport.
+        ViewportSampler vs = new ViewportSampler(f, sampler, 4, 100);
+        double lower = -6.0;
+        double upper = 6.0;
+        double width = 800;
+        double height = 600;
+        AdaptiveSampler.Samples s = vs.sample(lower, upper, width, height);
+        double yMin = Double.POSITIVE_INFINITY;
+        double yMax = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < s.size(); ++i) {
+            yMin = Math.min(yMin, s.getY(i));
+            yMax = Math.max(yMax, s.getY(i));
+        }
+        double xPixel = (upper - lower) / width;
+        double yScale = height / (yMax - yMin);
+        for (int i = 1; i < s.size(); ++i) {
+            double x0 = s.getX(i-1);
+            double x1 = s.getX(i);
+            if (x1 - x0 > xPixel) {
+                double err = Math.abs(f.eval((x0 + x1) / 2) - (s.getY(i-1) + s.getY(i)) / 2) * yScale;
+                assertTrue(err <= 0.5, "error of " + err + " pixels in [" + x0 + ", " + x1 + "]");
+            }
+        }
+    }
+
+    @Test
+    public void testCached() {
+        ViewportSampler vs = new ViewportSampler(f, sampler, 4, 100);
+        assertNull(vs.cached(-2.5, 3.0, 600), "nothing cached yet");
+        AdaptiveSampler.Samples s = vs.sample(-2.5, 3.0, 800, 600);
+        AdaptiveSampler.Samples c = vs.cached(-2.5, 3.0, 600);
+        assertNotNull(c, "range cached");
+        assertEquals(s.size(), c.size(), "cached size");
+        assertNotNull(vs.cached(-2.4, 2.9, 600), "panned range within cached tiles");
+        assertNull(vs.cached(-2.5, 3.0, 60), "tiles depend on the y scale");
+        assertNull(vs.cached(-20.0, 30.0, 600), "zoomed out range not cached");
+    }
+
+    @Test
+    public void testEviction() {
+        ViewportSampler vs = new ViewportSampler(f, sampler, 4, 5);
+        vs.sample(0.0, 4.0, 800, 600);
+        vs.sample(100.0, 104.0, 800, 600);
+        assertNull(vs.cached(0.0, 4.0, 600), "old tiles evicted");
+        assertNotNull(vs.cached(100.0, 104.0, 600), "recent tiles kept");
+    }
+
+    @Test
+    public void testInterrupted() {
+        ViewportSampler vs = new ViewportSampler(f, sampler, 4, 100);
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> vs.sample(0.0, 4.0, 800, 600),
+                    "sampling in interrupted thread");
+        }
+        finally {
+            Thread.interrupted();
+        }
+    }
+}
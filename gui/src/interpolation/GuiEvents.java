@@ -0,0 +1,39 @@
+package interpolation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Java Flight Recorder events of the user interface, see Events for the core ones.
+final class GuiEvents {
+    private GuiEvents() {}
+
+    @Name("interpolation.ChartRedraw")
+    @Label("Chart Redraw")
+    @Category({ "Interpolation", "GUI" })
+    static class ChartRedrawEvent extends Event {
+        @Label("Samples")
+        int samples;
+
+        @Label("Drawn Samples")
+        @Description("Polyline vertices left after pixel decimation")
+        int drawnSamples;
+
+        @Label("Data Points")
+        int dataPoints;
+    }
+
+    @Name("interpolation.ResultUpdate")
+    @Label("Result Update")
+    @Category({ "Interpolation", "GUI" })
+    @Description("Update of the polynomial and value texts after a new interpolation")
+    static class ResultUpdateEvent extends Event {
+        @Label("Degree")
+        int degree;
+
+        @Label("Text Length")
+        int textLength;
+    }
+}
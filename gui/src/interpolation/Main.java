@@ -0,0 +1,1433 @@
+package interpolation;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.Property;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableListBase;
+import javafx.collections.transformation.SortedList;
+import javafx.event.Event;
+import javafx.geometry.Orientation;
+import javafx.geometry.Pos;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.StrokeLineJoin;
+import javafx.scene.text.Font;
+import javafx.event.ActionEvent;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+
+import java.io.File;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.Supplier;
+
+// Custom TableCell subclass that handles parse errors correctly.
+class RationalCell extends TableCell<Point, Rational> {
+    private final TextField textField = new TextField();
+
+    public RationalCell() {
+        super();
+        itemProperty().addListener((obs, oldItem, newItem) -> {
+            setText(newItem == null ? null : newItem.toString());
+        });
+        setContentDisplay(ContentDisplay.TEXT_ONLY);
+        setGraphic(textField);
+        textField.setOnAction(event -> {
+            update();
+            event.consume();
+        });
+    }
+
+    @Override
+    public void startEdit() {
+        super.startEdit();
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        textField.setText(getText());
+        textField.requestFocus();
+    }
+
+    @Override
+    public void cancelEdit() {
+        super.cancelEdit();
+        setContentDisplay(ContentDisplay.TEXT_ONLY);
+    }
+
+    @Override
+    public void commitEdit(Rational val) {
+        super.commitEdit(val);
+        setContentDisplay(ContentDisplay.TEXT_ONLY);
+    }
+
+    private void update() {
+        try {
+            Rational val = Rational.parse(textField.getText());
+            commitEdit(val);
+        }
+        catch (NumberFormatException ex) {
+            Alert alert = new Alert(Alert.AlertType.ERROR, ex.getMessage());
+            alert.show();
+        }
+    }
+}
+
+// Observable list of data points kept in order of x, with distinct x values.
+// It's a thin adapter over NodeIndex, so all operations take logarithmic time
+// (bulk ones are applied as a single change). Points can't be inserted at
+// arbitrary positions, add places them according to their x.
+class PointList extends ObservableListBase<Point> {
+    private final NodeIndex index = new NodeIndex();
+
+    @Override
+    public Point get(int i) {
+        return index.get(i);
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return index.toList().toArray();
+    }
+
+    // Returns true if there is a point with the given x.
+    public boolean containsX(Rational x) {
+        return index.contains(x);
+    }
+
+    @Override
+    public boolean contains(Object obj) {
+        if (!(obj instanceof Point)) {
+            return false;
+        }
+        Point p = (Point)obj;
+        return p.equals(index.find(p.getX()));
+    }
+
+    @Override
+    public int indexOf(Object obj) {
+        return contains(obj) ? index.indexOf(((Point)obj).getX()) : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object obj) {
+        return indexOf(obj);
+    }
+
+    // Inserts the point in order of x.
+    // Throws IllegalArgumentException if its x is already present.
+    @Override
+    public boolean add(Point p) {
+        int i = index.insert(p);
+        beginChange();
+        nextAdd(i, i + 1);
+        endChange();
+        return true;
+    }
+
+    // Inserts all the points, none of their x can be already present.
+    @Override
+    public boolean addAll(Collection<? extends Point> ps) {
+        checkNew(ps);
+        beginChange();
+        for (Point p : ps) {
+            int i = index.insert(p);
+            nextAdd(i, i + 1);
+        }
+        endChange();
+        return !ps.isEmpty();
+    }
+
+    @Override
+    public boolean setAll(Collection<? extends Point> ps) {
+        Set<Rational> xs = new HashSet<>();
+        for (Point p : ps) {
+            if (!xs.add(p.getX())) {
+                throw new IllegalArgumentException("Duplicate node " + p.getX());
+            }
+        }
+        List<Point> removed = index.toList();
+        index.clear();
+        beginChange();
+        if (!removed.isEmpty()) {
+            nextRemove(0, removed);
+        }
+        for (Point p : ps) {
+            int i = index.insert(p);
+            nextAdd(i, i + 1);
+        }
+        endChange();
+        return true;
+    }
+
+    // Replaces the point old with p, which may have a different x.
+    // Throws IllegalArgumentException if the new x is already present.
+    public void replace(Point old, Point p) {
+        if (old.getX().equals(p.getX())) {
+            int i = index.replace(p);
+            beginChange();
+            nextSet(i, old);
+            endChange();
+            return;
+        }
+        if (index.contains(p.getX())) {
+            throw new IllegalArgumentException("Duplicate node " + p.getX());
+        }
+        beginChange();
+        int i = index.remove(old.getX());
+        nextRemove(i, old);
+        int j = index.insert(p);
+        nextAdd(j, j + 1);
+        endChange();
+    }
+
+    @Override
+    public Point set(int i, Point p) {
+        Point old = get(i);
+        replace(old, p);
+        return old;
+    }
+
+    @Override
+    public Point remove(int i) {
+        Point old = get(i);
+        remove(old);
+        return old;
+    }
+
+    @Override
+    public boolean remove(Object obj) {
+        return removeAll(Collections.singletonList(obj));
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> objs) {
+        // The collection might be a view of this list (e.g. selected items),
+        // so it's copied before any modification.
+        List<Point> removed = new ArrayList<>();
+        for (Object obj : objs) {
+            if (contains(obj)) {
+                removed.add((Point)obj);
+            }
+        }
+        if (removed.isEmpty()) {
+            return false;
+        }
+        beginChange();
+        for (Point p : removed) {
+            int i = index.remove(p.getX());
+            if (i >= 0) {
+                nextRemove(i, p);
+            }
+        }
+        endChange();
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        if (index.size() == 0) {
+            return;
+        }
+        List<Point> removed = index.toList();
+        index.clear();
+        beginChange();
+        nextRemove(0, removed);
+        endChange();
+    }
+
+    private void checkNew(Collection<? extends Point> ps) {
+        Set<Rational> xs = new HashSet<>();
+        for (Point p : ps) {
+            if (index.contains(p.getX()) || !xs.add(p.getX())) {
+                throw new IllegalArgumentException("Duplicate node " + p.getX());
+            }
+        }
+    }
+}
+
+class InputView extends VBox {
+    // Maximal number of rejected rows listed after an import.
+    private static final int maxReportedErrors = 10;
+
+    private final PointList points;
+    private final ReadOnlyProperty<Interpolation> interpolation;
+    private final Consumer<Interpolation> onOpen;
+    private final TableView<Point> table;
+    private final TextField addXField;
+    private final TextField addYField;
+    private final ExecutorService importExecutor;
+    // Values repeated in imported data share one instance.
+    private final RationalInterner interner = new RationalInterner(1 << 16);
+
+    // Opened sessions are passed to onOpen instead of being inserted,
+    // so that their interpolation isn't recomputed.
+    public InputView(PointList points_, ReadOnlyProperty<Interpolation> interpolation_,
+                     Consumer<Interpolation> onOpen_) {
+        super();
+        points = points_;
+        interpolation = interpolation_;
+        onOpen = onOpen_;
+
+        setSpacing(10.0);
+        setPadding(new Insets(10.0));
+        setPrefWidth(400);
+        setMinWidth(200);
+
+        table = new TableView<>();
+        // The table is sorted through a SortedList view, points themselves are always ordered by x.
+        final SortedList<Point> sortedPoints = new SortedList<>(points);
+        sortedPoints.comparatorProperty().bind(table.comparatorProperty());
+        table.setItems(sortedPoints);
+        VBox.setVgrow(table, Priority.ALWAYS);
+        table.setEditable(true);
+        table.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+
+        table.setOnKeyPressed(ev -> {
+            if (ev.getCode().equals(KeyCode.DELETE)) {
+                onDelete(ev);
+            }
+            else if (ev.isShortcutDown() && ev.getCode().equals(KeyCode.V)) {
+                onPaste(ev);
+            }
+        });
+
+        final TableColumn<Point, Rational> xColumn = new TableColumn<>("x");
+        xColumn.setCellValueFactory(new PropertyValueFactory<>("x"));
+        xColumn.setCellFactory(col -> new RationalCell());
+        xColumn.setOnEditCommit(this::onChangeX);
+        // We subtract 1.5 to avoid triggering the scrollbar.
+        xColumn.prefWidthProperty().bind(table.widthProperty().divide(2).subtract(1.5));
+        table.getSortOrder().add(xColumn);
+        table.getColumns().add(xColumn);
+
+        final TableColumn<Point, Rational> yColumn = new TableColumn<>("y");
+        yColumn.setCellValueFactory(new PropertyValueFactory<>("y"));
+        yColumn.setCellFactory(col -> new RationalCell());
+        yColumn.setOnEditCommit(this::onChangeY);
+        yColumn.prefWidthProperty().bind(table.widthProperty().divide(2).subtract(1.5));
+        table.getColumns().add(yColumn);
+
+        final HBox textFields = new HBox();
+        textFields.setSpacing(6.0);
+
+        addXField = new TextField();
+        HBox.setHgrow(addXField, Priority.ALWAYS);
+        addXField.setPromptText("x");
+        addXField.setOnAction(this::onAdd);
+
+        addYField = new TextField();
+        HBox.setHgrow(addYField, Priority.ALWAYS);
+        addYField.setPromptText("y");
+        addYField.setOnAction(this::onAdd);
+
+        textFields.getChildren().addAll(addXField, addYField);
+
+        final HBox buttons = new HBox();
+        buttons.setSpacing(6.0);
+
+        final Button addButton = new Button("Add");
+        addButton.setMinWidth(45);
+        addButton.setPrefWidth(60);
+        addButton.setMaxWidth(Double.MAX_VALUE);
+        HBox.setHgrow(addButton, Priority.ALWAYS);
+        addButton.setOnAction(this::onAdd);
+
+        final Button deleteButton = new Button("Delete");
+        deleteButton.setMinWidth(60);
+        deleteButton.setPrefWidth(60);
+        deleteButton.setMaxWidth(Double.MAX_VALUE);
+        HBox.setHgrow(deleteButton, Priority.ALWAYS);
+        deleteButton.setOnAction(this::onDelete);
+
+        final Button clearButton = new Button("Clear");
+        clearButton.setMinWidth(55);
+        clearButton.setPrefWidth(60);
+        clearButton.setMaxWidth(Double.MAX_VALUE);
+        HBox.setHgrow(clearButton, Priority.ALWAYS);
+        clearButton.setOnAction(this::onClear);
+
+        buttons.getChildren().addAll(addButton, deleteButton, clearButton);
+
+        final HBox importButtons = new HBox();
+        importButtons.setSpacing(6.0);
+
+        final Button pasteButton = new Button("Paste");
+        pasteButton.setMinWidth(55);
+        pasteButton.setPrefWidth(60);
+        pasteButton.setMaxWidth(Double.MAX_VALUE);
+        HBox.setHgrow(pasteButton, Priority.ALWAYS);
+        pasteButton.setOnAction(this::onPaste);
+
+        final Button importButton = new Button("Import...");
+        importButton.setMinWidth(70);
+        importButton.setPrefWidth(60);
+        importButton.setMaxWidth(Double.MAX_VALUE);
+        HBox.setHgrow(importButton, Priority.ALWAYS);
+        importButton.setOnAction(this::onImport);
+
+        importButtons.getChildren().addAll(pasteButton, importButton);
+
+        final HBox sessionButtons = new HBox();
+        sessionButtons.setSpacing(6.0);
+
+        final Button openButton = new Button("Open...");
+        openButton.setMinWidth(65);
+        openButton.setPrefWidth(60);
+        openButton.setMaxWidth(Double.MAX_VALUE);
+        HBox.setHgrow(openButton, Priority.ALWAYS);
+        openButton.setOnAction(this::onOpen);
+
+        final Button saveButton = new Button("Save...");
+        saveButton.setMinWidth(60);
+        saveButton.setPrefWidth(60);
+        saveButton.setMaxWidth(Double.MAX_VALUE);
+        HBox.setHgrow(saveButton, Priority.ALWAYS);
+        saveButton.setOnAction(this::onSave);
+
+        sessionButtons.getChildren().addAll(openButton, saveButton);
+
+        getChildren().addAll(table, textFields, buttons, importButtons, sessionButtons);
+
+        importExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void onChangeX(TableColumn.CellEditEvent<Point, Rational> ev) {
+        ev.consume();
+        Point old = ev.getRowValue();
+        Point point = new Point(ev.getNewValue(), old.getY());
+        if (!point.getX().equals(old.getX()) && points.containsX(point.getX())) {
+            Alert alert = new Alert(Alert.AlertType.ERROR,
+                    "Duplicate node " + point.getX());
+            alert.show();
+            return;
+        }
+        points.replace(old, point);
+    }
+
+    private void onChangeY(TableColumn.CellEditEvent<Point, Rational> ev) {
+        ev.consume();
+        Point old = ev.getRowValue();
+        points.replace(old, new Point(old.getX(), ev.getNewValue()));
+    }
+
+    private void onAdd(ActionEvent ev) {
+        ev.consume();
+        Rational x, y;
+        try {
+            x = Rational.parse(addXField.getText());
+            y = Rational.parse(addYField.getText());
+        }
+        catch (NumberFormatException e) {
+            Alert alert = new Alert(Alert.AlertType.ERROR, e.getMessage());
+            alert.show();
+            return;
+        }
+        if (points.containsX(x)) {
+            Alert alert = new Alert(Alert.AlertType.ERROR, "Duplicate node " + x);
+            alert.show();
+            addXField.requestFocus();
+            return;
+        }
+        points.add(new Point(x, y));
+        addXField.clear();
+        addYField.clear();
+        addXField.requestFocus();
+    }
+
+    private void onDelete(Event ev) {
+        ev.consume();
+        TableView.TableViewSelectionModel<Point> sel = table.getSelectionModel();
+        points.removeAll(sel.getSelectedItems());
+        // Removing rows from the table causes it forget its focused column,
+        // which means that editing cells with a keyboard shortcut will not work.
+        // To compensate for that, we explicitly focus the first column.
+        TableView.TableViewFocusModel<Point> focus = table.getFocusModel();
+        focus.focus(focus.getFocusedIndex(), table.getColumns().get(0));
+        // Force selection to be the same as focus (this invariant can be violated
+        // after deleting multiple nonconsecutive rows).
+        sel.clearAndSelect(focus.getFocusedIndex());
+    }
+
+    private void onClear(ActionEvent ev) {
+        ev.consume();
+        points.clear();
+    }
+
+    private void onPaste(Event ev) {
+        ev.consume();
+        String text = Clipboard.getSystemClipboard().getString();
+        if (text == null) {
+            return;
+        }
+        Set<Rational> xs = existingXs();
+        importPoints(() -> PointImport.parse(new StringReader(text), xs, interner));
+    }
+
+    private void onImport(ActionEvent ev) {
+        ev.consume();
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import points");
+        File file = chooser.showOpenDialog(getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        Set<Rational> xs = existingXs();
+        importPoints(() -> {
+            try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                return PointImport.parse(reader, xs, interner);
+            }
+        });
+    }
+
+    private static FileChooser sessionChooser(String title) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Interpolation", "*.ipol"));
+        return chooser;
+    }
+
+    // Sessions are decoded on the import thread.
+    private void onOpen(ActionEvent ev) {
+        ev.consume();
+        File file = sessionChooser("Open session").showOpenDialog(getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        importExecutor.submit(() -> {
+            try {
+                Interpolation restored = SessionFile.open(file.toPath()).getInterpolation();
+                // The chart needs the shifted form, which is better converted here.
+                restored.getShifted();
+                Platform.runLater(() -> onOpen.accept(restored));
+            }
+            catch (Exception ex) {
+                showError("Open failed: " + ex.getMessage());
+            }
+        });
+    }
+
+    // Saves the current interpolation, which may lag behind recent edits
+    // while it's being recomputed, but always matches its points.
+    private void onSave(ActionEvent ev) {
+        ev.consume();
+        File file = sessionChooser("Save session").showSaveDialog(getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        Interpolation current = interpolation.getValue();
+        importExecutor.submit(() -> {
+            try {
+                SessionFile.write(file.toPath(), current.getPoints(), current.getResult());
+            }
+            catch (Exception ex) {
+                showError("Save failed: " + ex.getMessage());
+            }
+        });
+    }
+
+    private static void showError(String message) {
+        Platform.runLater(() -> {
+            Alert alert = new Alert(Alert.AlertType.ERROR, message);
+            alert.show();
+        });
+    }
+
+    private Set<Rational> existingXs() {
+        Set<Rational> xs = new HashSet<>();
+        for (Point p : points) {
+            xs.add(p.getX());
+        }
+        return xs;
+    }
+
+    // Parses rows on the import thread and inserts them on the FX thread.
+    private void importPoints(Callable<PointImport> parser) {
+        importExecutor.submit(() -> {
+            try {
+                PointImport result = parser.call();
+                Platform.runLater(() -> insertImported(result));
+            }
+            catch (Exception ex) {
+                Platform.runLater(() -> {
+                    Alert alert = new Alert(Alert.AlertType.ERROR, "Import failed: " + ex.getMessage());
+                    alert.show();
+                });
+            }
+        });
+    }
+
+    private void insertImported(PointImport result) {
+        // Points might have been edited while the rows were parsed.
+        List<Point> imported = new ArrayList<>();
+        List<String> errors = new ArrayList<>(result.getErrors());
+        for (Point p : result.getPoints()) {
+            if (points.containsX(p.getX())) {
+                errors.add("Duplicate node " + p.getX());
+            }
+            else {
+                imported.add(p);
+            }
+        }
+        // All points are inserted at once, so that listeners are notified only once.
+        points.addAll(imported);
+        if (!errors.isEmpty()) {
+            StringBuilder buf = new StringBuilder();
+            buf.append("Skipped " + errors.size() + " rows:");
+            for (int i = 0; i < errors.size() && i < maxReportedErrors; ++i) {
+                buf.append("\n" + errors.get(i));
+            }
+            if (errors.size() > maxReportedErrors) {
+                buf.append("\n...");
+            }
+            Alert alert = new Alert(Alert.AlertType.WARNING, buf.toString());
+            alert.show();
+        }
+    }
+}
+
+class CopyButton extends Button {
+    private final Supplier<String> supplier;
+
+    public CopyButton(Supplier<String> supplier_) {
+        super("Copy");
+        supplier = supplier_;
+        setFont(new Font(11));
+        setMinWidth(45);
+        setOnAction(this::onAction);
+    }
+
+    protected void onAction(ActionEvent ev) {
+        ev.consume();
+        ClipboardContent content = new ClipboardContent();
+        content.putString(supplier.get());
+        Clipboard.getSystemClipboard().setContent(content);
+    }
+}
+
+// Chart of the interpolation polynomial and its data points.
+// The LineChart only provides axes and the legend (its series are always empty),
+// both series are drawn directly on a canvas placed in the plot area.
+// This avoids creating a scene graph node for every sample and data point.
+// The viewport can be zoomed with the mouse wheel, panned by dragging and
+// reset with a double click. Visible ranges are sampled on a background thread.
+class InterpolationChart extends LineChart<Number, Number> {
+    private static final Rational marginRatio = new Rational(1, 6);
+    private static final double yMarginRatio = 0.05;
+    // Adaptive sampling parameters (per tile). Pixel sizes are used before the chart is laid out.
+    private static final int nInitialPlotPoints = 17;
+    private static final int maxPlotPoints = 1000;
+    private static final double pixelTolerance = 0.5;
+    private static final double defaultPixelWidth = 800.0;
+    private static final double defaultPixelHeight = 400.0;
+    private static final AdaptiveSampler sampler =
+            new AdaptiveSampler(nInitialPlotPoints, maxPlotPoints, pixelTolerance);
+    private static final int tilesPerView = 8;
+    private static final int maxCachedTiles = 256;
+    private static final double zoomFactor = 1.25;
+    private static final int nTicks = 20;
+    private static final int nYTicks = 10;
+    private static final Rational defaultWidth = new Rational(20);
+    // Colors and sizes matching the series styles in style.css.
+    private static final Color plotColor = Color.web("#f3622d");
+    private static final double plotWidth = 3.0;
+    private static final Color dataColor = Color.GRAY;
+    private static final double dataRadius = 5.0;
+
+    private final Property<Interpolation> interpolation;
+    private final NumberAxis xAxis;
+    private final NumberAxis yAxis;
+    private final Canvas canvas;
+    private final ExecutorService samplingExecutor;
+    private ViewportSampler viewSampler;
+    private Future<?> pendingSamples;
+    // Incremented on every sampling request, so that stale results can be discarded.
+    private long generation = 0;
+    private AdaptiveSampler.Samples samples;
+    // Requested viewport, the axis range is this one aligned to ticks.
+    private double viewLower;
+    private double viewUpper;
+    private boolean hasViewport = false;
+    private double dragAnchor;
+    private double dragLower;
+    private double dragUpper;
+    // Points currently shown, their coordinates as doubles and the range of their x.
+    private List<Point> dataPoints = Collections.emptyList();
+    private double[] dataXs = new double[0];
+    private double[] dataYs = new double[0];
+    private Rational minX;
+    private Rational maxX;
+    private boolean dirty = true;
+
+    public InterpolationChart(Property<Interpolation> interpolation_) {
+        super(new NumberAxis(), new NumberAxis());
+        interpolation = interpolation_;
+        xAxis = (NumberAxis) getXAxis();
+        yAxis = (NumberAxis) getYAxis();
+        xAxis.setLabel("x");
+        xAxis.setAutoRanging(false);
+        yAxis.setLabel("y");
+        yAxis.setAutoRanging(false);
+        // Series are only used for the legend.
+        XYChart.Series<Number, Number> plot = new XYChart.Series<>();
+        plot.setName("P(x)");
+        XYChart.Series<Number, Number> data = new XYChart.Series<>();
+        data.setName("data points");
+        getData().add(plot);
+        getData().add(data);
+        setAnimated(false);
+
+        canvas = new Canvas();
+        canvas.setManaged(false);
+        getPlotChildren().add(canvas);
+
+        samplingExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chart-sampling");
+            thread.setDaemon(true);
+            return thread;
+        });
+        setOnScroll(this::onScroll);
+        setOnMousePressed(this::onMousePressed);
+        setOnMouseDragged(this::onMouseDragged);
+        setOnMouseClicked(this::onMouseClicked);
+
+        draw();
+        interpolation.addListener(change -> draw());
+    }
+
+    private void draw() {
+        updateData(interpolation.getValue().getPoints());
+        DoubleEvaluator f = new DoubleEvaluator(interpolation.getValue().getShifted());
+        viewSampler = new ViewportSampler(f, sampler, tilesPerView, maxCachedTiles);
+        samples = null;
+        // Editing points keeps the zoomed or panned viewport, unless none of
+        // the points is visible in it anymore.
+        if (hasViewport && overlapsData()) {
+            setViewport(viewLower, viewUpper);
+        }
+        else {
+            resetViewport();
+        }
+    }
+
+    private boolean overlapsData() {
+        return minX != null && minX.toDouble() <= viewUpper && maxX.toDouble() >= viewLower;
+    }
+
+    // Applies the difference between the shown and the new points. Unchanged
+    // points at both ends are kept, so after editing a single table cell only
+    // the edited point is converted, and the x range is only rescanned if one
+    // of its extreme points was removed.
+    private void updateData(List<Point> points) {
+        List<Point> old = dataPoints;
+        int limit = Math.min(old.size(), points.size());
+        int prefix = 0;
+        while (prefix < limit && samePoint(old.get(prefix), points.get(prefix))) {
+            ++prefix;
+        }
+        int suffix = 0;
+        while (suffix < limit - prefix
+                && samePoint(old.get(old.size() - 1 - suffix), points.get(points.size() - 1 - suffix))) {
+            ++suffix;
+        }
+        if (points.size() != old.size()) {
+            double[] xs = new double[points.size()];
+            double[] ys = new double[points.size()];
+            System.arraycopy(dataXs, 0, xs, 0, prefix);
+            System.arraycopy(dataYs, 0, ys, 0, prefix);
+            System.arraycopy(dataXs, old.size() - suffix, xs, points.size() - suffix, suffix);
+            System.arraycopy(dataYs, old.size() - suffix, ys, points.size() - suffix, suffix);
+            dataXs = xs;
+            dataYs = ys;
+        }
+        for (int i = prefix; i < points.size() - suffix; ++i) {
+            dataXs[i] = points.get(i).getX().toDouble();
+            dataYs[i] = points.get(i).getY().toDouble();
+        }
+
+        boolean rescan = false;
+        for (int i = prefix; i < old.size() - suffix && !rescan; ++i) {
+            Rational x = old.get(i).getX();
+            rescan = x.equals(minX) || x.equals(maxX);
+        }
+        if (rescan) {
+            minX = null;
+            maxX = null;
+            extendRange(points, 0, points.size());
+        }
+        else {
+            extendRange(points, prefix, points.size() - suffix);
+        }
+        dataPoints = points;
+    }
+
+    private static boolean samePoint(Point a, Point b) {
+        return a == b || a.equals(b);
+    }
+
+    // Extends the x range by points from (inclusive) to to (exclusive).
+    private void extendRange(List<Point> points, int from, int to) {
+        for (int i = from; i < to; ++i) {
+            Rational x = points.get(i).getX();
+            if (minX == null || x.compareTo(minX) < 0) {
+                minX = x;
+            }
+            if (maxX == null || x.compareTo(maxX) > 0) {
+                maxX = x;
+            }
+        }
+    }
+
+    private void resetViewport() {
+        if (interpolation.getValue().getPoints().size() >= 2) {
+            drawMultiple();
+        }
+        else {
+            drawConst();
+        }
+    }
+
+    private void drawMultiple() {
+        Rational margin = (maxX.sub(minX)).mul(marginRatio);
+        Rational start = minX.sub(margin);
+        Rational stop = maxX.add(margin);
+        drawFunctionInRange(start, stop);
+    }
+
+    private void drawConst() {
+        Rational middle = Rational.valueOf(0);
+        if (interpolation.getValue().getPoints().size() > 0) {
+            middle = interpolation.getValue().getPoints().get(0).getX();
+        }
+        Rational half = defaultWidth.div(Rational.valueOf(2));
+        drawFunctionInRange(middle.sub(half), middle.add(half));
+    }
+
+    // Returns a readable tick unit close to the given approximation.
+    private static double tickUnit(double tickApprox) {
+        // We construct the tick value from specific multiples to make it more readable.
+        double tick = 1.0;
+        if (tickApprox >= 1.0) {
+            while (tick * 10.0 <= tickApprox) {
+                tick *= 10.0;
+            }
+            while (tick * 5.0 <= tickApprox) {
+                tick *= 5.0;
+            }
+        }
+        else {
+            while (tick / 10.0 >= tickApprox) {
+                tick /= 10.0;
+            }
+            while (tick / 2.0 >= tickApprox) {
+                tick /= 2.0;
+            }
+        }
+        return tick;
+    }
+
+    private void drawFunctionInRange(Rational start, Rational stop) {
+        setViewport(start.toDouble(), stop.toDouble());
+    }
+
+    private void setViewport(double start, double stop) {
+        hasViewport = true;
+        viewLower = start;
+        viewUpper = stop;
+        double tick = tickUnit((stop - start) / (double) nTicks);
+        // Since ticks are counted from the lower bound, we need to adjust it properly.
+        xAxis.setLowerBound(start - (start % tick));
+        xAxis.setUpperBound(stop);
+        xAxis.setTickUnit(tick);
+        // Current samples are kept on screen until the new ones are ready.
+        dirty = true;
+        requestChartLayout();
+        requestSamples();
+    }
+
+    // Samples the whole axis range, which avoids leaving an empty space
+    // at the start of the chart. Cached ranges are shown immediately,
+    // others are computed on the sampling thread.
+    private void requestSamples() {
+        if (pendingSamples != null) {
+            pendingSamples.cancel(true);
+            pendingSamples = null;
+        }
+        long gen = ++generation;
+        double lower = xAxis.getLowerBound();
+        double upper = xAxis.getUpperBound();
+        double width = xAxis.getWidth() > 0 ? xAxis.getWidth() : defaultPixelWidth;
+        double height = yAxis.getHeight() > 0 ? yAxis.getHeight() : defaultPixelHeight;
+        AdaptiveSampler.Samples cached = viewSampler.cached(lower, upper, height);
+        if (cached != null) {
+            showSamples(cached);
+            return;
+        }
+        ViewportSampler vs = viewSampler;
+        pendingSamples = samplingExecutor.submit(() -> {
+            AdaptiveSampler.Samples result = vs.sample(lower, upper, width, height);
+            Platform.runLater(() -> {
+                if (gen == generation) {
+                    pendingSamples = null;
+                    showSamples(result);
+                }
+            });
+        });
+    }
+
+    // Returns the samples currently shown, or null if there are none yet.
+    public AdaptiveSampler.Samples getSamples() {
+        return samples;
+    }
+
+    private void showSamples(AdaptiveSampler.Samples s) {
+        samples = s;
+        updateYRange();
+        dirty = true;
+        requestChartLayout();
+    }
+
+    // Fits the y axis to the visible samples and data points.
+    private void updateYRange() {
+        double lower = xAxis.getLowerBound();
+        double upper = xAxis.getUpperBound();
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; samples != null && i < samples.size(); ++i) {
+            double y = samples.getY(i);
+            if (samples.getX(i) >= lower && samples.getX(i) <= upper && Double.isFinite(y)) {
+                min = Math.min(min, y);
+                max = Math.max(max, y);
+            }
+        }
+        for (int i = 0; i < dataXs.length; ++i) {
+            double y = dataYs[i];
+            if (dataXs[i] >= lower && dataXs[i] <= upper && Double.isFinite(y)) {
+                min = Math.min(min, y);
+                max = Math.max(max, y);
+            }
+        }
+        if (!(min <= max)) {
+            min = 0.0;
+            max = 0.0;
+        }
+        double margin = (max - min) * yMarginRatio;
+        if (margin == 0.0) {
+            margin = Math.max(1.0, Math.abs(max) * yMarginRatio);
+        }
+        double tick = tickUnit((max - min + 2 * margin) / (double) nYTicks);
+        yAxis.setLowerBound(Math.floor((min - margin) / tick) * tick);
+        yAxis.setUpperBound(max + margin);
+        yAxis.setTickUnit(tick);
+    }
+
+    private void onScroll(ScrollEvent ev) {
+        ev.consume();
+        if (ev.getDeltaY() == 0) {
+            return;
+        }
+        double px = xAxis.sceneToLocal(ev.getSceneX(), ev.getSceneY()).getX();
+        double x = xAxis.getValueForDisplay(px).doubleValue();
+        double factor = ev.getDeltaY() > 0 ? 1.0 / zoomFactor : zoomFactor;
+        double lower = x - (x - viewLower) * factor;
+        double upper = x + (viewUpper - x) * factor;
+        // Don't zoom in beyond what doubles can represent.
+        if (upper - lower <= Math.ulp(Math.abs(x)) * nTicks * maxPlotPoints) {
+            return;
+        }
+        setViewport(lower, upper);
+    }
+
+    private void onMousePressed(MouseEvent ev) {
+        if (ev.getButton() != MouseButton.PRIMARY) {
+            return;
+        }
+        ev.consume();
+        dragAnchor = ev.getX();
+        dragLower = viewLower;
+        dragUpper = viewUpper;
+    }
+
+    private void onMouseDragged(MouseEvent ev) {
+        if (ev.getButton() != MouseButton.PRIMARY || xAxis.getWidth() <= 0) {
+            return;
+        }
+        ev.consume();
+        double delta = (ev.getX() - dragAnchor) * (dragUpper - dragLower) / xAxis.getWidth();
+        setViewport(dragLower - delta, dragUpper - delta);
+    }
+
+    private void onMouseClicked(MouseEvent ev) {
+        if (ev.getButton() == MouseButton.PRIMARY && ev.getClickCount() == 2) {
+            ev.consume();
+            resetViewport();
+        }
+    }
+
+    @Override
+    protected void layoutPlotChildren() {
+        super.layoutPlotChildren();
+        double width = xAxis.getWidth();
+        double height = yAxis.getHeight();
+        if (width != canvas.getWidth() || height != canvas.getHeight()) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            dirty = true;
+        }
+        if (dirty) {
+            redraw();
+            dirty = false;
+        }
+    }
+
+    private void redraw() {
+        GuiEvents.ChartRedrawEvent event = new GuiEvents.ChartRedrawEvent();
+        event.begin();
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        gc.clearRect(0, 0, width, height);
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+
+        // Samples are missing until the first sampling of new data finishes.
+        if (samples != null) {
+            int n = samples.size();
+            double[] xs = new double[n];
+            double[] ys = new double[n];
+            for (int i = 0; i < n; ++i) {
+                xs[i] = xAxis.getDisplayPosition(samples.getX(i));
+                ys[i] = yAxis.getDisplayPosition(samples.getY(i));
+            }
+            n = PixelDecimator.decimateLine(xs, ys, n, xs, ys);
+            event.samples = samples.size();
+            event.drawnSamples = n;
+            gc.setStroke(plotColor);
+            gc.setLineWidth(plotWidth);
+            gc.setLineJoin(StrokeLineJoin.ROUND);
+            gc.strokePolyline(xs, ys, n);
+        }
+
+        int m = dataXs.length;
+        double[] xs = new double[m];
+        double[] ys = new double[m];
+        for (int i = 0; i < m; ++i) {
+            xs[i] = xAxis.getDisplayPosition(dataXs[i]);
+            ys[i] = yAxis.getDisplayPosition(dataYs[i]);
+        }
+        m = PixelDecimator.decimateMarkers(xs, ys, m, (int) Math.ceil(width), (int) Math.ceil(height), xs, ys);
+        gc.setFill(dataColor);
+        for (int i = 0; i < m; ++i) {
+            gc.fillOval(xs[i] - dataRadius, ys[i] - dataRadius, 2 * dataRadius, 2 * dataRadius);
+        }
+        event.dataPoints = dataXs.length;
+        event.commit();
+    }
+}
+
+class ResultView extends VBox {
+    private final Property<Interpolation> interpolation;
+    private final Text polyText;
+    private Rational evalPoint = Rational.valueOf(0);
+    private final TextField evalInput;
+    private final Text evalText;
+    private final InterpolationChart chart;
+    private final Text diagnosticsText = new Text();
+    // Exports run one at a time on their own thread.
+    private final ExecutorService exportExecutor;
+    private final DoubleProperty exportProgress = new SimpleDoubleProperty(1.0);
+
+    public ResultView(Property<Interpolation> interpolation_, ReadOnlyDoubleProperty progress) {
+        super();
+        interpolation = interpolation_;
+
+        setPadding(new Insets(10.0, 20.0, 10.0, 20.0));
+        setSpacing(10.0);
+        setPrefWidth(800);
+        setMinWidth(200);
+        HBox.setHgrow(this, Priority.ALWAYS);
+
+        // Polynomial
+        final Label polyLabel = new Label("Polynomial:");
+
+        // Shown while a new interpolation is being computed.
+        final ProgressBar progressBar = new ProgressBar();
+        progressBar.progressProperty().bind(progress);
+        progressBar.visibleProperty().bind(progress.lessThan(1.0));
+
+        final HBox polyLabelBox = new HBox();
+        polyLabelBox.setSpacing(10.0);
+        polyLabelBox.setAlignment(Pos.CENTER_LEFT);
+        polyLabelBox.getChildren().addAll(polyLabel, progressBar);
+
+        final HBox polyBox = new HBox();
+        polyBox.setAlignment(Pos.CENTER_LEFT);
+
+        polyText = new Text();
+        polyText.setFont(new Font(30));
+        polyText.wrappingWidthProperty().bind(widthProperty().subtract(80));
+
+        CopyButton polyCopy = new CopyButton(this::getPolyContent);
+
+        polyBox.getChildren().addAll(polyText, polyCopy);
+
+        // Export
+        final MenuButton exportButton = new MenuButton("Export");
+        final MenuItem exportText = new MenuItem("Coefficients...");
+        exportText.setOnAction(this::onExportCoefficients);
+        final MenuItem exportBinary = new MenuItem("Coefficients (binary)...");
+        exportBinary.setOnAction(this::onExportBinary);
+        final MenuItem exportTable = new MenuItem("Evaluation table...");
+        exportTable.setOnAction(this::onExportTable);
+        final MenuItem exportSamples = new MenuItem("Plot samples...");
+        exportSamples.setOnAction(this::onExportSamples);
+        exportButton.getItems().addAll(exportText, exportBinary, exportTable, exportSamples);
+
+        final ProgressBar exportBar = new ProgressBar();
+        exportBar.progressProperty().bind(exportProgress);
+        exportBar.visibleProperty().bind(exportProgress.lessThan(1.0));
+
+        final HBox exportBox = new HBox();
+        exportBox.setSpacing(10.0);
+        exportBox.setAlignment(Pos.CENTER_LEFT);
+        exportBox.getChildren().addAll(exportButton, exportBar);
+
+        exportExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "export");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Evaluation
+        final Label evalLabel = new Label("Value in point:");
+
+        final HBox evalResultBox = new HBox();
+        evalResultBox.setAlignment(Pos.CENTER_LEFT);
+
+        evalText = new Text();
+        evalText.setFont(new Font(18));
+        evalText.wrappingWidthProperty().bind(widthProperty().subtract(80));
+
+        final CopyButton evalCopy = new CopyButton(() -> getEvalResult().toString());
+
+        evalResultBox.getChildren().addAll(evalText, evalCopy);
+
+        final HBox evalInputBox = new HBox();
+        evalInputBox.setSpacing(6.0);
+
+        evalInput = new TextField();
+        evalInput.setMinWidth(50);
+        evalInput.setFont(new Font(12));
+        evalInput.setText(evalPoint.toString());
+        evalInput.setOnAction(this::onEvalCommit);
+
+        final Button evalCommit = new Button("Eval");
+        evalCommit.setMinWidth(45);
+        evalCommit.setFont(new Font(12));
+        evalCommit.setOnAction(this::onEvalCommit);
+
+        evalInputBox.getChildren().addAll(evalInput, evalCommit);
+
+        // Chart
+        final Label chartLabel = new Label("Chart:");
+        chart = new InterpolationChart(interpolation);
+        VBox.setVgrow(chart, Priority.ALWAYS);
+
+        getChildren().addAll(
+                polyLabelBox,
+                polyBox,
+                exportBox,
+                new Separator(Orientation.HORIZONTAL),
+                evalLabel,
+                evalResultBox,
+                evalInputBox,
+                new Separator(Orientation.HORIZONTAL),
+                chartLabel,
+                chart
+        );
+
+        // Diagnostics are only available when metrics are enabled.
+        if (Metrics.enabled) {
+            final TitledPane diagnostics = new TitledPane("Diagnostics", diagnosticsText);
+            diagnostics.setExpanded(false);
+            getChildren().add(diagnostics);
+        }
+
+        updateAll();
+        interpolation.addListener(change -> this.updateAll());
+    }
+
+    private void updateAll() {
+        GuiEvents.ResultUpdateEvent event = new GuiEvents.ResultUpdateEvent();
+        event.begin();
+        updatePolyText();
+        updateEvalText();
+        updateDiagnostics();
+        event.degree = interpolation.getValue().getShifted().degree();
+        event.textLength = polyText.getText().length();
+        event.commit();
+    }
+
+    private void updateDiagnostics() {
+        if (!Metrics.enabled) {
+            return;
+        }
+        String report = interpolation.getValue().getReport()
+                .map(Object::toString)
+                .orElse("");
+        diagnosticsText.setText(report + "\n" + Metrics.snapshot());
+    }
+
+    private String getPolyContent() {
+        return interpolation.getValue().getResult().toString();
+    }
+
+    private void updatePolyText() {
+        polyText.setText("P(x) = " + getPolyContent());
+    }
+
+    private Rational getEvalResult() {
+        return interpolation.getValue().eval(evalPoint);
+    }
+
+    private void updateEvalText() {
+        evalText.setText("P(" + evalPoint + ") = " + getEvalResult());
+    }
+
+    private interface ExportTask {
+        void run(DoubleConsumer progress) throws Exception;
+    }
+
+    // Runs the export on the export thread and shows its progress.
+    private void export(ExportTask task) {
+        exportProgress.set(0.0);
+        exportExecutor.submit(() -> {
+            try {
+                task.run(p -> Platform.runLater(() -> exportProgress.set(p)));
+            }
+            catch (Exception ex) {
+                Platform.runLater(() -> {
+                    Alert alert = new Alert(Alert.AlertType.ERROR, "Export failed: " + ex.getMessage());
+                    alert.show();
+                });
+            }
+            finally {
+                Platform.runLater(() -> exportProgress.set(1.0));
+            }
+        });
+    }
+
+    private File chooseExportFile(String title, String description, String extension) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(description, extension));
+        return chooser.showSaveDialog(getScene().getWindow());
+    }
+
+    // The monomial form is expanded on the export thread if needed.
+    private void onExportCoefficients(ActionEvent ev) {
+        ev.consume();
+        File file = chooseExportFile("Export coefficients", "Text", "*.txt");
+        if (file == null) {
+            return;
+        }
+        Interpolation current = interpolation.getValue();
+        export(progress -> Export.coefficients(file.toPath(), current.getResult(), progress));
+    }
+
+    // Binary coefficients use the session format, which also keeps the points.
+    private void onExportBinary(ActionEvent ev) {
+        ev.consume();
+        File file = chooseExportFile("Export coefficients", "Interpolation", "*.ipol");
+        if (file == null) {
+            return;
+        }
+        Interpolation current = interpolation.getValue();
+        export(progress -> SessionFile.write(file.toPath(), current.getPoints(), current.getResult(), progress));
+    }
+
+    private void onExportTable(ActionEvent ev) {
+        ev.consume();
+        List<Point> points = interpolation.getValue().getPoints();
+        TextField start = new TextField(points.size() >= 2 ? points.get(0).getX().toString() : "-10");
+        TextField stop = new TextField(points.size() >= 2 ? points.get(points.size() - 1).getX().toString() : "10");
+        TextField count = new TextField("1001");
+        CheckBox exact = new CheckBox("Exact values");
+        GridPane grid = new GridPane();
+        grid.setHgap(10.0);
+        grid.setVgap(6.0);
+        grid.addRow(0, new Label("From:"), start);
+        grid.addRow(1, new Label("To:"), stop);
+        grid.addRow(2, new Label("Points:"), count);
+        grid.add(exact, 1, 3);
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("Evaluation table");
+        dialog.getDialogPane().setContent(grid);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        if (dialog.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) {
+            return;
+        }
+        Rational from;
+        Rational to;
+        int n;
+        try {
+            from = Rational.parse(start.getText());
+            to = Rational.parse(stop.getText());
+            n = Integer.parseInt(count.getText().trim());
+            if (n < 1) {
+                throw new NumberFormatException("At least one point is required");
+            }
+        }
+        catch (NumberFormatException ex) {
+            Alert alert = new Alert(Alert.AlertType.ERROR, ex.getMessage());
+            alert.show();
+            return;
+        }
+        File file = chooseExportFile("Export evaluation table", "Text", "*.txt");
+        if (file == null) {
+            return;
+        }
+        ShiftedPoly poly = interpolation.getValue().getShifted();
+        boolean isExact = exact.isSelected();
+        export(progress -> Export.evaluations(file.toPath(), poly, from, to, n, isExact, progress));
+    }
+
+    private void onExportSamples(ActionEvent ev) {
+        ev.consume();
+        AdaptiveSampler.Samples samples = chart.getSamples();
+        if (samples == null) {
+            Alert alert = new Alert(Alert.AlertType.ERROR, "The chart isn't sampled yet");
+            alert.show();
+            return;
+        }
+        File file = chooseExportFile("Export plot samples", "Text", "*.txt");
+        if (file == null) {
+            return;
+        }
+        export(progress -> Export.samples(file.toPath(), samples, progress));
+    }
+
+    private void onEvalCommit(ActionEvent ev) {
+        ev.consume();
+        try {
+            evalPoint = Rational.parse(evalInput.getText());
+            updateEvalText();
+        }
+        catch (NumberFormatException ex) {
+            Alert alert = new Alert(Alert.AlertType.ERROR, ex.getMessage());
+            alert.show();
+            evalInput.requestFocus();
+            return;
+        }
+    }
+}
+
+public class Main extends Application {
+    private final PointList points = new PointList();
+    private final Property<Interpolation> interpolation =
+            new SimpleObjectProperty<>(new Interpolation(points));
+    private final DoubleProperty progress = new SimpleDoubleProperty(1.0);
+    // Interpolations are computed in the background and published on the FX thread.
+    private final InterpolationWorker worker =
+            new InterpolationWorker(Platform::runLater, interpolation::setValue, progress::set);
+
+    // Set while points of an opened session are being inserted.
+    private boolean restoring = false;
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    // Shows an opened session without recomputing its interpolation.
+    private void restore(Interpolation restored) {
+        restoring = true;
+        try {
+            points.setAll(restored.getPoints());
+        }
+        finally {
+            restoring = false;
+        }
+        worker.publish(restored);
+    }
+
+    @Override
+    public void start(Stage primaryStage) {
+        primaryStage.setTitle("Interpolation");
+
+        HBox root = new HBox();
+
+        InputView input = new InputView(points, interpolation, this::restore);
+        root.getChildren().add(input);
+
+        ResultView result = new ResultView(interpolation, progress);
+        root.getChildren().add(result);
+
+        points.addListener((ListChangeListener<Point>) change -> {
+            boolean reload = false;
+            while (change.next()) {
+                reload = reload || !change.wasPermutated();
+            }
+            if (reload && !restoring) {
+                worker.submit(points);
+            }
+        });
+
+        primaryStage.minWidthProperty().bind(input.minWidthProperty().add(result.minWidthProperty()));
+        primaryStage.setMinHeight(200);
+        Scene scene = new Scene(root, 800, 600);
+        scene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
+        primaryStage.setScene(scene);
+        primaryStage.show();
+    }
+
+    @Override
+    public void stop() {
+        worker.shutdown();
+    }
+}